@@ -1,9 +0,0 @@
-package org.urkejov;
-
-
-public class Main {
-    public static void main(String[] args) {
-        System.out.println("Hello world!");
-    }
-
-}
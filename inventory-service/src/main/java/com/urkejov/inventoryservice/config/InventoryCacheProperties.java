@@ -0,0 +1,26 @@
+package com.urkejov.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.cache")
+public class InventoryCacheProperties {
+
+    /**
+     * Maximum number of SKUs kept in the near-cache.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Safety net for writes that bypass the application, e.g. manual SQL.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * Load the catalog into the cache once the application is ready.
+     */
+    private boolean warmOnStartup = true;
+}
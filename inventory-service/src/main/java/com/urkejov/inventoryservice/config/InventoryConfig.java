@@ -0,0 +1,26 @@
+package com.urkejov.inventoryservice.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ReservationProperties.class, InventoryCacheProperties.class, StockImportProperties.class})
+public class InventoryConfig {
+
+    /**
+     * Lets clients send and receive {@code application/x-jackson-smile}, the binary
+     * encoding of the same JSON model, on any endpoint.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(jackson2ObjectMapperBuilder
+                .factory(new SmileFactory())
+                .build());
+    }
+}
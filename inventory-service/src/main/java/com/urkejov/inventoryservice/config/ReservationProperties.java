@@ -0,0 +1,21 @@
+package com.urkejov.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.reservation")
+public class ReservationProperties {
+
+    /**
+     * How long a hold lasts when the request does not ask for a TTL.
+     */
+    private Duration defaultTtl = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound for a TTL requested by the client.
+     */
+    private Duration maxTtl = Duration.ofMinutes(30);
+}
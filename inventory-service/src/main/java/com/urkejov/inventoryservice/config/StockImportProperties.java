@@ -0,0 +1,24 @@
+package com.urkejov.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.import")
+public class StockImportProperties {
+
+    /**
+     * Rows upserted per JDBC batch and transaction; also bounds the rows held in memory.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Rows between two progress log lines.
+     */
+    private long progressInterval = 100_000;
+
+    /**
+     * Rejected lines described in the import report; the rest are only counted.
+     */
+    private int maxReportedErrors = 100;
+}
@@ -1,9 +1,12 @@
 package com.urkejov.inventoryservice.controller;
 
+import com.urkejov.inventoryservice.dto.AvailabilityRequest;
+import com.urkejov.inventoryservice.dto.AvailabilityResponse;
 import com.urkejov.inventoryservice.dto.InventoryResponse;
 import com.urkejov.inventoryservice.service.InventoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,6 +16,8 @@ import java.util.List;
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+    private static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
     private final InventoryService inventoryService;
 
     @GetMapping
@@ -20,4 +25,12 @@ public class InventoryController {
     public List<InventoryResponse> isInStock(@RequestParam List<String> skuCode) {
         return inventoryService.isInStock(skuCode);
     }
+
+    @PostMapping(value = "/availability",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE})
+    @ResponseStatus(HttpStatus.OK)
+    public List<AvailabilityResponse> checkAvailability(@RequestBody AvailabilityRequest availabilityRequest) {
+        return inventoryService.checkAvailability(availabilityRequest.getItems());
+    }
 }
@@ -0,0 +1,34 @@
+package com.urkejov.inventoryservice.controller;
+
+import com.urkejov.inventoryservice.dto.ReservationRequest;
+import com.urkejov.inventoryservice.dto.ReservationResponse;
+import com.urkejov.inventoryservice.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory/reservations")
+public class ReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationResponse reserve(@RequestBody ReservationRequest reservationRequest) {
+        return stockReservationService.reserve(reservationRequest);
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    @ResponseStatus(HttpStatus.OK)
+    public ReservationResponse confirm(@PathVariable String reservationId) {
+        return stockReservationService.confirm(reservationId);
+    }
+
+    @DeleteMapping("/{reservationId}")
+    @ResponseStatus(HttpStatus.OK)
+    public ReservationResponse release(@PathVariable String reservationId) {
+        return stockReservationService.release(reservationId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.urkejov.inventoryservice.controller;
+
+import com.urkejov.inventoryservice.dto.StockImportReport;
+import com.urkejov.inventoryservice.service.StockImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/inventory/import")
+public class StockImportController {
+
+    private final StockImportService stockImportService;
+
+    /**
+     * Streams the request body into the inventory table, e.g.
+     * {@code curl -X POST --data-binary @stock.csv -H 'Content-Type: text/csv' '.../api/inventory/import?format=CSV&mode=SNAPSHOT'}.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.OK)
+    public StockImportReport importStock(InputStream body,
+                                         @RequestParam(defaultValue = "CSV") StockImportService.Format format,
+                                         @RequestParam(defaultValue = "SNAPSHOT") StockImportService.Mode mode) throws IOException {
+        return stockImportService.importStock(body, format, mode);
+    }
+}
@@ -0,0 +1,17 @@
+package com.urkejov.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityResponse {
+    private String skuCode;
+    private int requestedQuantity;
+    private int availableQuantity;
+    private boolean available;
+}
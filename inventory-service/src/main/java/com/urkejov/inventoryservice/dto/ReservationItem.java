@@ -0,0 +1,15 @@
+package com.urkejov.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationItem {
+    private String skuCode;
+    private Integer quantity;
+}
@@ -0,0 +1,21 @@
+package com.urkejov.inventoryservice.dto;
+
+import com.urkejov.inventoryservice.service.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationResponse {
+    private String reservationId;
+    private Reservation.Status status;
+    private Instant expiresAt;
+    private List<ReservationItem> items;
+}
@@ -0,0 +1,25 @@
+package com.urkejov.inventoryservice.dto;
+
+import com.urkejov.inventoryservice.service.StockImportService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockImportReport {
+    private StockImportService.Format format;
+    private StockImportService.Mode mode;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long batches;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<String> errors;
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory", indexes = @Index(name = "uk_inventory_sku_code", columnList = "sku_code", unique = true))
+@EntityListeners(InventoryCacheListener.class)
 @Getter
 @Setter
 @Builder
@@ -0,0 +1,30 @@
+package com.urkejov.inventoryservice.model;
+
+import com.urkejov.inventoryservice.service.InventoryStockCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link InventoryStockCache} in sync with JPA writes. The cache is looked up
+ * lazily because Hibernate creates this listener while the repositories the cache
+ * depends on are still being built.
+ */
+@Component
+public class InventoryCacheListener {
+
+    private final ObjectProvider<InventoryStockCache> inventoryStockCache;
+
+    public InventoryCacheListener(ObjectProvider<InventoryStockCache> inventoryStockCache) {
+        this.inventoryStockCache = inventoryStockCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Inventory inventory) {
+        inventoryStockCache.getObject().invalidateAfterCommit(inventory.getSkuCode());
+    }
+}
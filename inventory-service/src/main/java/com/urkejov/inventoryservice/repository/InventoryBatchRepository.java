@@ -0,0 +1,49 @@
+package com.urkejov.inventoryservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies net quantity changes per SKU as a single JDBC batch.
+     */
+    public void applyQuantityDeltas(Map<String, Integer> deltas) {
+        List<Object[]> args = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate("update inventory set quantity = quantity + ? where sku_code = ?", args);
+    }
+
+    /**
+     * Sets the quantity of every SKU, inserting the ones that do not exist yet, as a
+     * single JDBC batch keyed on the unique {@code sku_code} index.
+     */
+    public void upsertQuantities(Map<String, Integer> quantities) {
+        jdbcTemplate.batchUpdate("insert into inventory (sku_code, quantity) values (?, ?) "
+                + "on duplicate key update quantity = values(quantity)", toArgs(quantities));
+    }
+
+    /**
+     * Adds to the quantity of every SKU, inserting the ones that do not exist yet with
+     * the delta as their quantity, as a single JDBC batch.
+     */
+    public void upsertQuantityDeltas(Map<String, Integer> deltas) {
+        jdbcTemplate.batchUpdate("insert into inventory (sku_code, quantity) values (?, ?) "
+                + "on duplicate key update quantity = quantity + values(quantity)", toArgs(deltas));
+    }
+
+    private static List<Object[]> toArgs(Map<String, Integer> quantities) {
+        return quantities.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+    }
+}
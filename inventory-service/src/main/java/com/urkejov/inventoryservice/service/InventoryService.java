@@ -1,28 +1,67 @@
 package com.urkejov.inventoryservice.service;
 
+import com.urkejov.inventoryservice.dto.AvailabilityItem;
+import com.urkejov.inventoryservice.dto.AvailabilityResponse;
 import com.urkejov.inventoryservice.dto.InventoryResponse;
-import com.urkejov.inventoryservice.repository.InventoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
 
-    private final InventoryRepository inventoryRepository;
+    private final InventoryStockCache inventoryStockCache;
+
+    private final StockReservationService stockReservationService;
 
-    @Transactional(readOnly = true)
     public List<InventoryResponse> isInStock(List<String> skuCode) {
-        return inventoryRepository.findBySkuCodeIn(skuCode).stream()
-                .map(inventory ->
+        return inventoryStockCache.getQuantities(new LinkedHashSet<>(skuCode)).entrySet().stream()
+                .map(entry ->
                         InventoryResponse.builder()
-                                .skuCode(inventory.getSkuCode())
-                                .isInStock(inventory.getQuantity() > 0)
+                                .skuCode(entry.getKey())
+                                .isInStock(entry.getValue() > 0)
                                 .build()
                 ).toList();
 
     }
+
+    /**
+     * Checks a whole cart with one cache lookup. Lines for the same SKU are summed and
+     * answered once; SKUs that do not exist are reported with no available quantity.
+     * Stock held by open reservations on this instance is not counted as available.
+     */
+    public List<AvailabilityResponse> checkAvailability(List<AvailabilityItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Availability check must contain at least one item");
+        }
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (AvailabilityItem item : items) {
+            if (item.getSkuCode() == null || item.getRequestedQuantity() == null || item.getRequestedQuantity() < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every item needs a sku code and a non-negative quantity");
+            }
+            requested.merge(item.getSkuCode(), item.getRequestedQuantity(), Integer::sum);
+        }
+        Map<String, Integer> quantities = inventoryStockCache.getQuantities(requested.keySet());
+        return requested.entrySet().stream()
+                .map(entry -> {
+                    Integer reservable = stockReservationService.getAvailable(entry.getKey());
+                    int availableQuantity = reservable != null
+                            ? reservable
+                            : quantities.getOrDefault(entry.getKey(), 0);
+                    return AvailabilityResponse.builder()
+                            .skuCode(entry.getKey())
+                            .requestedQuantity(entry.getValue())
+                            .availableQuantity(availableQuantity)
+                            .available(availableQuantity >= entry.getValue())
+                            .build();
+                })
+                .toList();
+    }
 }
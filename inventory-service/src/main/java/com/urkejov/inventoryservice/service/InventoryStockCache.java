@@ -0,0 +1,95 @@
+package com.urkejov.inventoryservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urkejov.inventoryservice.config.InventoryCacheProperties;
+import com.urkejov.inventoryservice.model.Inventory;
+import com.urkejov.inventoryservice.repository.InventoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-process SKU to quantity cache in front of {@link InventoryRepository}.
+ * <p>
+ * Batched lookups only query MySQL for the SKUs that are not cached. Entries are
+ * invalidated after the transaction that wrote the {@link Inventory} row commits; hit,
+ * miss and eviction counts are published as {@code cache.*} metrics tagged
+ * {@code cache=inventory.stock}.
+ */
+@Component
+@Slf4j
+public class InventoryStockCache {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryCacheProperties inventoryCacheProperties;
+    private final Cache<String, Integer> quantities;
+
+    public InventoryStockCache(InventoryRepository inventoryRepository,
+                               InventoryCacheProperties inventoryCacheProperties,
+                               MeterRegistry meterRegistry) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryCacheProperties = inventoryCacheProperties;
+        this.quantities = Caffeine.newBuilder()
+                .maximumSize(inventoryCacheProperties.getMaximumSize())
+                .expireAfterWrite(inventoryCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quantities, "inventory.stock");
+    }
+
+    public Map<String, Integer> getQuantities(Collection<String> skuCodes) {
+        return quantities.getAll(skuCodes, this::loadQuantities);
+    }
+
+    public void invalidate(String skuCode) {
+        quantities.invalidate(skuCode);
+    }
+
+    public void invalidateAll(Collection<String> skuCodes) {
+        quantities.invalidateAll(skuCodes);
+    }
+
+    /**
+     * Invalidates now and once more after the surrounding transaction commits, so a
+     * reader cannot re-cache the pre-commit quantity in between.
+     */
+    public void invalidateAfterCommit(String skuCode) {
+        invalidate(skuCode);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(skuCode);
+                }
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!inventoryCacheProperties.isWarmOnStartup()) {
+            return;
+        }
+        int size = (int) Math.min(inventoryCacheProperties.getMaximumSize(), Integer.MAX_VALUE);
+        List<Inventory> inventories = inventoryRepository.findAll(PageRequest.of(0, size)).getContent();
+        inventories.forEach(inventory -> quantities.put(inventory.getSkuCode(), inventory.getQuantity()));
+        log.info("Warmed inventory stock cache with {} sku codes", inventories.size());
+    }
+
+    private Map<String, Integer> loadQuantities(Collection<? extends String> skuCodes) {
+        return inventoryRepository.findBySkuCodeIn(List.copyOf(skuCodes)).stream()
+                .collect(Collectors.toMap(Inventory::getSkuCode, Inventory::getQuantity, (first, second) -> first));
+    }
+}
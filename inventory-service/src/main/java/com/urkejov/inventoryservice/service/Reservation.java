@@ -0,0 +1,52 @@
+package com.urkejov.inventoryservice.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A stock hold across one or more SKUs. The status only moves away from HELD once,
+ * which guarantees held units are confirmed or returned exactly one time even when
+ * confirm, release and expiry race each other.
+ */
+public class Reservation {
+
+    public enum Status {
+        HELD, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    private final String id;
+    private final Map<String, Integer> quantities;
+    private final Instant expiresAt;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.HELD);
+
+    public Reservation(String id, Map<String, Integer> quantities, Instant expiresAt) {
+        this.id = id;
+        this.quantities = quantities;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Map<String, Integer> getQuantities() {
+        return quantities;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    public boolean isExpired(Instant now) {
+        return now.isAfter(expiresAt);
+    }
+
+    public boolean complete(Status target) {
+        return status.compareAndSet(Status.HELD, target);
+    }
+}
@@ -0,0 +1,68 @@
+package com.urkejov.inventoryservice.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stock counter for a single SKU.
+ * <p>
+ * {@code available} is what can still be reserved and is only touched with CAS, so
+ * concurrent reservations on a hot SKU never take a lock. {@code pendingDelta} is the
+ * confirmed change that has not been written to the {@code inventory} row yet.
+ */
+public class StockCounter {
+
+    private final String skuCode;
+    private final AtomicInteger available;
+    private final AtomicInteger pendingDelta = new AtomicInteger();
+
+    public StockCounter(String skuCode, int available) {
+        this.skuCode = skuCode;
+        this.available = new AtomicInteger(available);
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public int getAvailable() {
+        return available.get();
+    }
+
+    public boolean tryReserve(int quantity) {
+        int current;
+        do {
+            current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    public void release(int quantity) {
+        available.addAndGet(quantity);
+    }
+
+    /**
+     * Applies a change made to the stored quantity outside the reservation flow.
+     */
+    public void adjust(int delta) {
+        available.addAndGet(delta);
+    }
+
+    public void confirm(int quantity) {
+        pendingDelta.addAndGet(-quantity);
+    }
+
+    public int getPendingDelta() {
+        return pendingDelta.get();
+    }
+
+    public int drainDelta() {
+        return pendingDelta.getAndSet(0);
+    }
+
+    public void restoreDelta(int delta) {
+        pendingDelta.addAndGet(delta);
+    }
+}
@@ -0,0 +1,244 @@
+package com.urkejov.inventoryservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.urkejov.inventoryservice.config.StockImportProperties;
+import com.urkejov.inventoryservice.dto.StockImportReport;
+import com.urkejov.inventoryservice.model.Inventory;
+import com.urkejov.inventoryservice.repository.InventoryBatchRepository;
+import com.urkejov.inventoryservice.repository.InventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming stock sync from the warehouse management system.
+ * <p>
+ * The input is read line by line and upserted in JDBC batches of
+ * {@code inventory.import.batch-size} rows, each in its own transaction, so memory stays
+ * bounded by one batch whatever the file size. A failed batch aborts the import; the
+ * batches before it stay committed, and re-running a snapshot import is idempotent.
+ * Lines that cannot be parsed are skipped and reported.
+ * <p>
+ * Accepted formats are CSV ({@code skuCode,quantity} with an optional header line) and
+ * NDJSON ({@code {"skuCode":"...","quantity":1}} per line). A {@link Mode#SNAPSHOT}
+ * sets quantities, a {@link Mode#DELTA} feed adds to them.
+ */
+@Service
+@Slf4j
+public class StockImportService {
+
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryStockCache inventoryStockCache;
+    private final StockReservationService stockReservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final StockImportProperties stockImportProperties;
+    private final ObjectReader jsonReader;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public StockImportService(InventoryBatchRepository inventoryBatchRepository,
+                              InventoryRepository inventoryRepository,
+                              InventoryStockCache inventoryStockCache,
+                              StockReservationService stockReservationService,
+                              TransactionTemplate transactionTemplate,
+                              StockImportProperties stockImportProperties,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryStockCache = inventoryStockCache;
+        this.stockReservationService = stockReservationService;
+        this.transactionTemplate = transactionTemplate;
+        this.stockImportProperties = stockImportProperties;
+        this.jsonReader = objectMapper.readerFor(JsonNode.class);
+        this.importedRows = Counter.builder("inventory.import.rows")
+                .tag("result", "imported")
+                .description("Stock rows written by imports")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("inventory.import.rows")
+                .tag("result", "rejected")
+                .description("Stock rows skipped by imports because they could not be parsed")
+                .register(meterRegistry);
+    }
+
+    public StockImportReport importStock(InputStream inputStream, Format format, Mode mode) throws IOException {
+        long start = System.nanoTime();
+        int batchSize = stockImportProperties.getBatchSize();
+        Map<String, Integer> batch = new LinkedHashMap<>(batchSize * 4 / 3 + 1);
+        List<String> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long rowsImported = 0;
+        long rowsRejected = 0;
+        long batches = 0;
+        long nextProgress = stockImportProperties.getProgressInterval();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            rowsRead++;
+            StockRow row;
+            try {
+                row = format == Format.CSV ? parseCsv(line) : parseNdjson(line);
+                if (mode == Mode.SNAPSHOT && row.quantity() < 0) {
+                    throw new IllegalArgumentException("quantity must not be negative in a snapshot");
+                }
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                rowsRejected++;
+                if (errors.size() < stockImportProperties.getMaxReportedErrors()) {
+                    errors.add("line " + lineNumber + ": " + e.getMessage());
+                }
+                continue;
+            }
+            if (mode == Mode.SNAPSHOT) {
+                batch.put(row.skuCode(), row.quantity());
+            } else {
+                batch.merge(row.skuCode(), row.quantity(), Integer::sum);
+            }
+            rowsImported++;
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, mode);
+                batches++;
+                batch.clear();
+            }
+            if (rowsImported >= nextProgress) {
+                log.info("Stock import progress: {} rows imported, {} rejected, {} rows/s",
+                        rowsImported, rowsRejected, rowsPerSecond(rowsImported, System.nanoTime() - start));
+                nextProgress += stockImportProperties.getProgressInterval();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, mode);
+            batches++;
+        }
+        importedRows.increment(rowsImported);
+        rejectedRows.increment(rowsRejected);
+
+        long elapsed = System.nanoTime() - start;
+        StockImportReport report = StockImportReport.builder()
+                .format(format)
+                .mode(mode)
+                .rowsRead(rowsRead)
+                .rowsImported(rowsImported)
+                .rowsRejected(rowsRejected)
+                .batches(batches)
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .rowsPerSecond(rowsPerSecond(rowsImported, elapsed))
+                .errors(errors)
+                .build();
+        log.info("Stock import finished: {} rows imported, {} rejected in {} ms ({} rows/s)",
+                rowsImported, rowsRejected, report.getDurationMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private void writeBatch(Map<String, Integer> batch, Mode mode) {
+        Map<String, Integer> counterDeltas = mode == Mode.DELTA ? batch : snapshotDeltas(batch);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (mode == Mode.SNAPSHOT) {
+                inventoryBatchRepository.upsertQuantities(batch);
+            } else {
+                inventoryBatchRepository.upsertQuantityDeltas(batch);
+            }
+        });
+        inventoryStockCache.invalidateAll(batch.keySet());
+        stockReservationService.adjustAvailable(counterDeltas);
+    }
+
+    /**
+     * Change in stored quantity for the SKUs that have a reservation counter here; read
+     * before the upsert so the counters can be moved by the same amount.
+     */
+    private Map<String, Integer> snapshotDeltas(Map<String, Integer> batch) {
+        Set<String> loaded = stockReservationService.getLoadedSkuCodes(batch.keySet());
+        if (loaded.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Integer> deltas = new HashMap<>();
+        loaded.forEach(skuCode -> deltas.put(skuCode, batch.get(skuCode)));
+        for (Inventory inventory : inventoryRepository.findBySkuCodeIn(List.copyOf(loaded))) {
+            deltas.computeIfPresent(inventory.getSkuCode(), (skuCode, quantity) -> quantity - inventory.getQuantity());
+        }
+        return deltas;
+    }
+
+    /**
+     * Only the literal column names count as a header, so a malformed first data row is
+     * rejected and reported like any other line instead of being skipped.
+     */
+    private static boolean isCsvHeader(String line) {
+        String[] columns = line.replace("\uFEFF", "").split(",", -1);
+        return columns.length == 2
+                && unquote(columns[0]).equalsIgnoreCase("skuCode")
+                && unquote(columns[1]).equalsIgnoreCase("quantity");
+    }
+
+    private static StockRow parseCsv(String line) {
+        int comma = line.lastIndexOf(',');
+        if (comma <= 0) {
+            throw new IllegalArgumentException("expected skuCode,quantity");
+        }
+        String skuCode = unquote(line.substring(0, comma));
+        if (skuCode.isEmpty()) {
+            throw new IllegalArgumentException("missing sku code");
+        }
+        try {
+            return new StockRow(skuCode, Integer.parseInt(unquote(line.substring(comma + 1))));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("quantity is not a number");
+        }
+    }
+
+    private StockRow parseNdjson(String line) throws JsonProcessingException {
+        JsonNode node = jsonReader.readValue(line);
+        JsonNode skuCode = node.get("skuCode");
+        JsonNode quantity = node.get("quantity");
+        if (skuCode == null || !skuCode.isTextual() || skuCode.asText().isEmpty()) {
+            throw new IllegalArgumentException("missing sku code");
+        }
+        if (quantity == null || !quantity.canConvertToInt() || !quantity.isIntegralNumber()) {
+            throw new IllegalArgumentException("quantity is not a number");
+        }
+        return new StockRow(skuCode.asText(), quantity.intValue());
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).replace("\"\"", "\"");
+        }
+        return trimmed;
+    }
+
+    private static long rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos == 0 ? 0 : rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private record StockRow(String skuCode, int quantity) {
+    }
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    public enum Mode {
+        SNAPSHOT, DELTA
+    }
+}
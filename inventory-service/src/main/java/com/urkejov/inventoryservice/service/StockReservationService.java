@@ -0,0 +1,263 @@
+package com.urkejov.inventoryservice.service;
+
+import com.urkejov.inventoryservice.config.ReservationProperties;
+import com.urkejov.inventoryservice.dto.ReservationItem;
+import com.urkejov.inventoryservice.dto.ReservationRequest;
+import com.urkejov.inventoryservice.dto.ReservationResponse;
+import com.urkejov.inventoryservice.model.Inventory;
+import com.urkejov.inventoryservice.repository.InventoryBatchRepository;
+import com.urkejov.inventoryservice.repository.InventoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reserve / confirm / release API backed by per-SKU {@link StockCounter}s.
+ * <p>
+ * Reservations only touch the in-memory counters. Confirmed quantities are collected as
+ * net deltas per SKU and written to MySQL by {@link #flush()} in one JDBC batch, so a hot
+ * SKU costs one row update per flush interval instead of one row lock per request.
+ * Counters are seeded from the {@code inventory} table on first use and assume this
+ * instance is the only writer of stock for the SKUs it has loaded.
+ * <p>
+ * Held reservations, loaded counters and SKUs waiting for the next flush are published
+ * as {@code inventory.reservations.*} gauges.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService implements MeterBinder {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final InventoryStockCache inventoryStockCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationProperties reservationProperties;
+
+    private final ConcurrentMap<String, StockCounter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("inventory.reservations.held", reservations, Map::size)
+                .description("Reservations that are neither confirmed, released nor expired")
+                .register(registry);
+        Gauge.builder("inventory.reservations.counters", counters, Map::size)
+                .description("SKUs with an in-memory stock counter on this instance")
+                .register(registry);
+        Gauge.builder("inventory.reservations.unflushed", counters, StockReservationService::countUnflushed)
+                .description("SKUs with confirmed quantities not yet written to the database")
+                .register(registry);
+    }
+
+    private static double countUnflushed(Map<String, StockCounter> counters) {
+        return counters.values().stream()
+                .filter(counter -> counter.getPendingDelta() != 0)
+                .count();
+    }
+
+    public ReservationResponse reserve(ReservationRequest reservationRequest) {
+        Map<String, Integer> quantities = mergeItems(reservationRequest.getItems());
+        loadCounters(quantities.keySet());
+
+        List<Map.Entry<String, Integer>> reserved = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            StockCounter counter = counters.get(entry.getKey());
+            if (counter == null) {
+                rollback(reserved);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown sku code " + entry.getKey());
+            }
+            if (!counter.tryReserve(entry.getValue())) {
+                rollback(reserved);
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough stock for " + entry.getKey());
+            }
+            reserved.add(entry);
+        }
+
+        Reservation reservation = new Reservation(
+                UUID.randomUUID().toString(),
+                quantities,
+                Instant.now().plus(resolveTtl(reservationRequest.getTtlSeconds())));
+        reservations.put(reservation.getId(), reservation);
+        return mapToDto(reservation);
+    }
+
+    public ReservationResponse confirm(String reservationId) {
+        Reservation reservation = findReservation(reservationId);
+        if (reservation.isExpired(Instant.now())) {
+            expire(reservation);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation has expired");
+        }
+        if (!reservation.complete(Reservation.Status.CONFIRMED)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation is no longer held");
+        }
+        reservations.remove(reservationId);
+        reservation.getQuantities().forEach((skuCode, quantity) -> counters.get(skuCode).confirm(quantity));
+        return mapToDto(reservation);
+    }
+
+    public ReservationResponse release(String reservationId) {
+        Reservation reservation = findReservation(reservationId);
+        if (!reservation.complete(Reservation.Status.RELEASED)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation is no longer held");
+        }
+        reservations.remove(reservationId);
+        returnStock(reservation);
+        return mapToDto(reservation);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:1000}")
+    public void expireReservations() {
+        Instant now = Instant.now();
+        reservations.values().stream()
+                .filter(reservation -> reservation.isExpired(now))
+                .forEach(this::expire);
+    }
+
+    /**
+     * Writes the confirmed deltas accumulated since the previous flush. Deltas are
+     * drained before the write and put back if it fails, so nothing is lost or applied
+     * twice.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.flush-interval-ms:200}")
+    @PreDestroy
+    public void flush() {
+        Map<String, Integer> deltas = new HashMap<>();
+        counters.values().forEach(counter -> {
+            int delta = counter.drainDelta();
+            if (delta != 0) {
+                deltas.put(counter.getSkuCode(), delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> inventoryBatchRepository.applyQuantityDeltas(deltas));
+            inventoryStockCache.invalidateAll(deltas.keySet());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush stock deltas for {} sku codes, retrying on next flush", deltas.size(), e);
+            deltas.forEach((skuCode, delta) -> counters.get(skuCode).restoreDelta(delta));
+        }
+    }
+
+    /**
+     * Stock still free for a SKU net of held reservations, or {@code null} when no
+     * counter has been loaded for it on this instance.
+     */
+    public Integer getAvailable(String skuCode) {
+        StockCounter counter = counters.get(skuCode);
+        return counter == null ? null : counter.getAvailable();
+    }
+
+    /**
+     * SKUs among {@code skuCodes} that have a counter on this instance.
+     */
+    public Set<String> getLoadedSkuCodes(Collection<String> skuCodes) {
+        Set<String> loaded = new HashSet<>();
+        for (String skuCode : skuCodes) {
+            if (counters.containsKey(skuCode)) {
+                loaded.add(skuCode);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Carries stock changes written by someone else, such as an import, over to the
+     * counters of this instance. SKUs without a counter pick the change up when loaded.
+     */
+    public void adjustAvailable(Map<String, Integer> deltas) {
+        deltas.forEach((skuCode, delta) -> {
+            StockCounter counter = counters.get(skuCode);
+            if (counter != null && delta != 0) {
+                counter.adjust(delta);
+            }
+        });
+    }
+
+    private void expire(Reservation reservation) {
+        if (reservation.complete(Reservation.Status.EXPIRED)) {
+            reservations.remove(reservation.getId());
+            returnStock(reservation);
+        }
+    }
+
+    private void returnStock(Reservation reservation) {
+        reservation.getQuantities().forEach((skuCode, quantity) -> counters.get(skuCode).release(quantity));
+    }
+
+    private void rollback(List<Map.Entry<String, Integer>> reserved) {
+        reserved.forEach(entry -> counters.get(entry.getKey()).release(entry.getValue()));
+    }
+
+    private void loadCounters(Set<String> skuCodes) {
+        List<String> missing = skuCodes.stream()
+                .filter(skuCode -> !counters.containsKey(skuCode))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Inventory inventory : inventoryRepository.findBySkuCodeIn(missing)) {
+            counters.putIfAbsent(inventory.getSkuCode(), new StockCounter(inventory.getSkuCode(), inventory.getQuantity()));
+        }
+    }
+
+    private Map<String, Integer> mergeItems(List<ReservationItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Reservation must contain at least one item");
+        }
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (ReservationItem item : items) {
+            if (item.getSkuCode() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every item needs a sku code and a positive quantity");
+            }
+            quantities.merge(item.getSkuCode(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private Duration resolveTtl(Long ttlSeconds) {
+        if (ttlSeconds == null || ttlSeconds <= 0) {
+            return reservationProperties.getDefaultTtl();
+        }
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        return ttl.compareTo(reservationProperties.getMaxTtl()) > 0 ? reservationProperties.getMaxTtl() : ttl;
+    }
+
+    private Reservation findReservation(String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found");
+        }
+        return reservation;
+    }
+
+    private ReservationResponse mapToDto(Reservation reservation) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.getId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .items(reservation.getQuantities().entrySet().stream()
+                        .map(entry -> ReservationItem.builder()
+                                .skuCode(entry.getKey())
+                                .quantity(entry.getValue())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.urkejov.inventoryservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urkejov.inventoryservice.InventoryServiceApplication;
+import com.urkejov.inventoryservice.dto.InventoryResponse;
+import com.urkejov.inventoryservice.model.Inventory;
+import com.urkejov.inventoryservice.repository.InventoryRepository;
+import com.urkejov.inventoryservice.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the {@code GET /api/inventory} response from the warm stock cache and writes it
+ * with the application's {@link ObjectMapper}.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=InventoryResponseBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryResponseBenchmark {
+
+	@Param({"1", "20", "200"})
+	private int skuCodes;
+
+	private ConfigurableApplicationContext context;
+	private InventoryService inventoryService;
+	private ObjectMapper objectMapper;
+	private List<String> requestedSkuCodes;
+	private List<InventoryResponse> responses;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		inventoryService = context.getBean(InventoryService.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+		List<Inventory> inventories = new ArrayList<>(skuCodes);
+		requestedSkuCodes = new ArrayList<>(skuCodes);
+		for (int i = 0; i < skuCodes; i++) {
+			String skuCode = "SKU-" + i;
+			inventories.add(Inventory.builder().skuCode(skuCode).quantity(i % 5).build());
+			requestedSkuCodes.add(skuCode);
+		}
+		context.getBean(InventoryRepository.class).saveAll(inventories);
+		responses = inventoryService.isInStock(requestedSkuCodes);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<InventoryResponse> isInStock() {
+		return inventoryService.isInStock(requestedSkuCodes);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return objectMapper.writeValueAsBytes(responses);
+	}
+}
@@ -0,0 +1,119 @@
+package com.urkejov.inventoryservice.benchmark;
+
+import com.urkejov.inventoryservice.InventoryServiceApplication;
+import com.urkejov.inventoryservice.dto.StockImportReport;
+import com.urkejov.inventoryservice.service.StockImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nightly-sync sized import of one million SKUs from a file, both into an empty table
+ * and as an update of every existing row. H2 emulates {@code on duplicate key update}
+ * with a caught exception per row, so the update numbers are only meaningful against
+ * MySQL: {@code -Dspring.datasource.url=...}.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=StockImportBenchmark}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class StockImportBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Feed {
+
+		@Param({"1000000"})
+		private int rows;
+
+		@Param({"CSV", "NDJSON"})
+		private StockImportService.Format format;
+
+		private ConfigurableApplicationContext context;
+		private StockImportService stockImportService;
+		private JdbcTemplate jdbcTemplate;
+		private Path file;
+
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+					.web(WebApplicationType.NONE)
+					.profiles("benchmark")
+					.run();
+			stockImportService = context.getBean(StockImportService.class);
+			jdbcTemplate = context.getBean(JdbcTemplate.class);
+			file = Files.createTempFile("stock", "." + format.name().toLowerCase());
+			try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				if (format == StockImportService.Format.CSV) {
+					writer.write("skuCode,quantity\n");
+				}
+				for (int i = 0; i < rows; i++) {
+					String skuCode = "SKU-" + i;
+					int quantity = i % 500;
+					writer.write(format == StockImportService.Format.CSV
+							? skuCode + "," + quantity + "\n"
+							: "{\"skuCode\":\"" + skuCode + "\",\"quantity\":" + quantity + "}\n");
+				}
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			context.close();
+			Files.deleteIfExists(file);
+		}
+
+		StockImportReport importFile() throws IOException {
+			try (InputStream inputStream = Files.newInputStream(file)) {
+				StockImportReport report = stockImportService.importStock(inputStream, format, StockImportService.Mode.SNAPSHOT);
+				if (report.getRowsImported() != rows) {
+					throw new IllegalStateException("Imported " + report.getRowsImported() + " of " + rows + " rows");
+				}
+				return report;
+			}
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class EmptyTable {
+
+		@Setup(Level.Invocation)
+		public void setUp(Feed feed) {
+			feed.jdbcTemplate.execute("truncate table inventory");
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class LoadedTable {
+
+		@Setup(Level.Invocation)
+		public void setUp(Feed feed) throws IOException {
+			if (feed.jdbcTemplate.queryForObject("select count(*) from inventory", Integer.class) < feed.rows) {
+				feed.importFile();
+			}
+		}
+	}
+
+	@Benchmark
+	public StockImportReport insert(Feed feed, EmptyTable emptyTable) throws IOException {
+		return feed.importFile();
+	}
+
+	@Benchmark
+	public StockImportReport update(Feed feed, LoadedTable loadedTable) throws IOException {
+		return feed.importFile();
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.urkejov.inventoryservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockCounterTests {
+
+	@Test
+	void concurrentReservationsNeverOversell() throws InterruptedException {
+		StockCounter counter = new StockCounter("ThinkPad 15", 1000);
+		AtomicInteger granted = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int i = 0; i < 5000; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (counter.tryReserve(1)) {
+					granted.incrementAndGet();
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(granted.get()).isEqualTo(1000);
+		assertThat(counter.getAvailable()).isZero();
+	}
+
+	@Test
+	void confirmedQuantitiesAreDrainedOnce() {
+		StockCounter counter = new StockCounter("Lenovo Legion", 20);
+		assertThat(counter.tryReserve(3)).isTrue();
+		assertThat(counter.tryReserve(25)).isFalse();
+		counter.confirm(3);
+
+		assertThat(counter.drainDelta()).isEqualTo(-3);
+		assertThat(counter.drainDelta()).isZero();
+		assertThat(counter.getAvailable()).isEqualTo(17);
+	}
+
+	@Test
+	void reservationCompletesOnlyOnce() {
+		Reservation reservation = new Reservation("r-1", Map.of("ThinkPad 15", 1), Instant.now());
+		assertThat(reservation.complete(Reservation.Status.CONFIRMED)).isTrue();
+		assertThat(reservation.complete(Reservation.Status.EXPIRED)).isFalse();
+		assertThat(reservation.getStatus()).isEqualTo(Reservation.Status.CONFIRMED);
+	}
+
+}
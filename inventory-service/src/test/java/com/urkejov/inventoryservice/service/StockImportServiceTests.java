@@ -0,0 +1,89 @@
+package com.urkejov.inventoryservice.service;
+
+import com.urkejov.inventoryservice.dto.StockImportReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "inventory.import.batch-size=2")
+@ActiveProfiles("benchmark")
+class StockImportServiceTests {
+
+	@Autowired
+	private StockImportService stockImportService;
+
+	@Autowired
+	private InventoryStockCache inventoryStockCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from inventory");
+	}
+
+	@Test
+	void snapshotUpsertsAndSkipsBadLines() throws IOException {
+		importStock("skuCode,quantity\nA,1\nB,2\nC,x\n\"D, large\",4\n", StockImportService.Format.CSV, StockImportService.Mode.SNAPSHOT);
+		inventoryStockCache.getQuantities(List.of("A"));
+
+		StockImportReport report = importStock("A,10\nE,5\n", StockImportService.Format.CSV, StockImportService.Mode.SNAPSHOT);
+
+		assertThat(report.getRowsImported()).isEqualTo(2);
+		assertThat(quantities()).containsExactlyInAnyOrderEntriesOf(Map.of("A", 10, "B", 2, "D, large", 4, "E", 5));
+		assertThat(inventoryStockCache.getQuantities(List.of("A"))).containsEntry("A", 10);
+	}
+
+	@Test
+	void deltaFeedAddsToQuantities() throws IOException {
+		importStock("{\"skuCode\":\"A\",\"quantity\":5}\n", StockImportService.Format.NDJSON, StockImportService.Mode.SNAPSHOT);
+
+		StockImportReport report = importStock("""
+				{"skuCode":"A","quantity":-2}
+				{"skuCode":"A","quantity":1}
+				{"skuCode":"B","quantity":3}
+				{"skuCode":"C"}
+				""", StockImportService.Format.NDJSON, StockImportService.Mode.DELTA);
+
+		assertThat(quantities()).containsExactlyInAnyOrderEntriesOf(Map.of("A", 4, "B", 3));
+		assertThat(report.getRowsRejected()).isEqualTo(1);
+		assertThat(report.getErrors()).containsExactly("line 4: quantity is not a number");
+	}
+
+	@Test
+	void malformedFirstRowIsRejectedNotTakenForAHeader() throws IOException {
+		StockImportReport report = importStock("A,ten\nB,2\n", StockImportService.Format.CSV, StockImportService.Mode.SNAPSHOT);
+
+		assertThat(report.getRowsRead()).isEqualTo(2);
+		assertThat(report.getRowsRejected()).isEqualTo(1);
+		assertThat(report.getErrors()).containsExactly("line 1: quantity is not a number");
+		assertThat(quantities()).containsExactlyInAnyOrderEntriesOf(Map.of("B", 2));
+	}
+
+	private StockImportReport importStock(String body, StockImportService.Format format, StockImportService.Mode mode) throws IOException {
+		return stockImportService.importStock(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, mode);
+	}
+
+	private Map<String, Integer> quantities() {
+		Map<String, Integer> quantities = new HashMap<>();
+		jdbcTemplate.query("select sku_code, quantity from inventory",
+				resultSet -> {
+					quantities.put(resultSet.getString(1), resultSet.getInt(2));
+				});
+		return quantities;
+	}
+
+}
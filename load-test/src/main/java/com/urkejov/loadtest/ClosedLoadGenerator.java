@@ -0,0 +1,75 @@
+package com.urkejov.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closed-model load: {@code connections} clients each send a request, wait for its
+ * response and send the next one, so that many requests are outstanding for the whole
+ * run. It answers how much throughput the services sustain at a given concurrency.
+ * Latency is measured from each send, so unlike {@link OpenLoadGenerator} it leaves out
+ * the time a request would have waited to be sent; read the throughput column, not the
+ * percentiles, when comparing runs.
+ */
+final class ClosedLoadGenerator {
+
+    private final HttpClient httpClient;
+    private final Traffic traffic;
+    private final Scenario scenario;
+
+    ClosedLoadGenerator(HttpClient httpClient, Traffic traffic, Scenario scenario) {
+        this.httpClient = httpClient;
+        this.traffic = traffic;
+        this.scenario = scenario;
+    }
+
+    /**
+     * Clients are started evenly over the first half of the warmup so the services see a
+     * ramp instead of every connection arriving at once.
+     */
+    Results run() throws InterruptedException {
+        Results results = new Results();
+        int connections = scenario.connections();
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        long rampInterval = scenario.warmup().toNanos() / 2 / connections;
+        CountDownLatch finished = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            long due = start + i * rampInterval;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(results, measureFrom, end, finished);
+        }
+        long drain = scenario.requestTimeout().plus(Duration.ofSeconds(5)).toNanos();
+        finished.await(end - System.nanoTime() + drain, TimeUnit.NANOSECONDS);
+        return results;
+    }
+
+    private void send(Results results, long measureFrom, long end, CountDownLatch finished) {
+        long sent = System.nanoTime();
+        if (sent >= end) {
+            finished.countDown();
+            return;
+        }
+        Traffic.Request request = traffic.next();
+        httpClient.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((response, error) -> {
+                    long completed = System.nanoTime();
+                    if (completed >= measureFrom && completed < end) {
+                        if (error == null) {
+                            results.record(request.kind(), completed - sent, response.statusCode());
+                        } else {
+                            results.failed(request.kind(), completed - sent);
+                        }
+                    }
+                    send(results, measureFrom, end, finished);
+                });
+    }
+}
@@ -0,0 +1,145 @@
+package com.urkejov.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts inventory-service, user-service (with the in-memory identity provider) and
+ * order-service on H2, seeds stock and users, drives a saved scenario against them and
+ * reports throughput and latency percentiles. Results are printed and written as JSON to
+ * {@code target/load-test/<scenario>-<time>.json}; service logs go next to them.
+ * <p>
+ * {@code mvn compile exec:java -Dscenario=flash-sale -Dargs="rps=600 order-service.order.placement.group-commit.enabled=true"}
+ * <p>
+ * With {@code threads=virtual} the report also lists every frame that pinned a virtual
+ * thread in each service.
+ */
+public final class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(12);
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+    private static final int USER_IMPORT_CHUNK = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest <scenario name or file> [key=value ...]");
+            System.exit(2);
+        }
+        Scenario scenario = Scenario.load(args[0], Arrays.asList(args).subList(1, args.length));
+        Path workDir = Files.createDirectories(Path.of("target", "load-test"));
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Tokens tokens = new Tokens();
+        Path publicKey = tokens.writePublicKey(workDir);
+        String adminToken = tokens.issue("load-test-admin@example.com", "ADMIN", TOKEN_LIFETIME);
+        String userToken = tokens.issue("load-test-user@example.com", "USER", TOKEN_LIFETIME);
+
+        int inventoryPort = ServiceProcess.freePort();
+        try (ServiceProcess inventoryService = ServiceProcess.start("inventory-service", inventoryPort, scenario, List.of(), workDir);
+             ServiceProcess userService = ServiceProcess.start("user-service", ServiceProcess.freePort(), scenario, List.of(
+                     "--user.identity-provider=in-memory",
+                     "--spring.security.oauth2.resourceserver.jwt.public-key-location=file:" + publicKey.toAbsolutePath()), workDir);
+             ServiceProcess orderService = ServiceProcess.start("order-service", ServiceProcess.freePort(), scenario, List.of(
+                     "--inventory.client.base-url=http://localhost:" + inventoryPort,
+                     "--inventory.client.load-balancer.enabled=false"), workDir)) {
+            System.out.println("Starting services, logs in " + workDir.toAbsolutePath());
+            inventoryService.awaitHealthy(httpClient, null, STARTUP_TIMEOUT);
+            userService.awaitHealthy(httpClient, adminToken, STARTUP_TIMEOUT);
+            orderService.awaitHealthy(httpClient, null, STARTUP_TIMEOUT);
+
+            seedStock(httpClient, inventoryService, scenario);
+            List<String> userIds = scenario.userReadShare() > 0
+                    ? seedUsers(httpClient, objectMapper, userService, scenario, adminToken)
+                    : List.of();
+            System.out.printf("Seeded %d SKUs and %d users, warming up for %ds%n",
+                    scenario.skus(), userIds.size(), scenario.warmup().toSeconds());
+
+            Traffic traffic = new Traffic(scenario, objectMapper, orderService.baseUrl(), userService.baseUrl(), userIds, userToken);
+            Results results = scenario.connections() > 0
+                    ? new ClosedLoadGenerator(httpClient, traffic, scenario).run()
+                    : new OpenLoadGenerator(httpClient, traffic, scenario).run();
+            for (ServiceProcess service : List.of(inventoryService, userService, orderService)) {
+                results.pinned(service.name(), service.pinnedFrames());
+            }
+
+            Path report = workDir.resolve(scenario.name() + "-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+            results.print(scenario, scenario.duration(), System.out);
+            results.write(scenario, scenario.duration(), report);
+            System.out.println("Report written to " + report.toAbsolutePath());
+        }
+    }
+
+    private static void seedStock(HttpClient httpClient, ServiceProcess inventoryService, Scenario scenario)
+            throws IOException, InterruptedException {
+        StringBuilder csv = new StringBuilder("skuCode,quantity\n");
+        for (int sku = 0; sku < scenario.skus(); sku++) {
+            csv.append(Traffic.skuCode(sku)).append(',').append(scenario.stock()).append('\n');
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(inventoryService.baseUrl() + "/api/inventory/import?format=CSV&mode=SNAPSHOT"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString(), StandardCharsets.UTF_8))
+                .build();
+        expectOk(httpClient.send(request, HttpResponse.BodyHandlers.ofString()), "Stock import");
+    }
+
+    private static List<String> seedUsers(HttpClient httpClient, ObjectMapper objectMapper, ServiceProcess userService,
+                                          Scenario scenario, String adminToken) throws IOException, InterruptedException {
+        List<String> userIds = new ArrayList<>(scenario.users());
+        for (int from = 0; from < scenario.users(); from += USER_IMPORT_CHUNK) {
+            List<Map<String, Object>> users = new ArrayList<>();
+            for (int i = from; i < Math.min(from + USER_IMPORT_CHUNK, scenario.users()); i++) {
+                users.add(Map.of(
+                        "firstName", "Load",
+                        "lastName", "Test " + i,
+                        "username", "load-test-" + i,
+                        "email", "load-test-" + i + "@example.com",
+                        "status", "ACTIVE",
+                        "roles", List.of("USER"),
+                        "passwordHash", BCRYPT_HASH));
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(userService.baseUrl() + "/api/v1/users/import"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(users)))
+                    .build();
+            HttpResponse<String> response = expectOk(httpClient.send(request, HttpResponse.BodyHandlers.ofString()), "User import");
+            for (JsonNode result : objectMapper.readTree(response.body()).path("results")) {
+                if (result.hasNonNull("userId")) {
+                    userIds.add(result.get("userId").asText());
+                }
+            }
+        }
+        return userIds;
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response, String step) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(step + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
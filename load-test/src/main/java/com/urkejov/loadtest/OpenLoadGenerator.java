@@ -0,0 +1,73 @@
+package com.urkejov.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: request {@code i} is due at {@code start + i / rps} and is sent then,
+ * however many earlier requests are still outstanding. Closed-model tools wait for a
+ * response before sending the next request, which slows the offered load down exactly
+ * when the system struggles and hides the queueing a real user would see.
+ */
+final class OpenLoadGenerator {
+
+    private final HttpClient httpClient;
+    private final Traffic traffic;
+    private final Scenario scenario;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoadGenerator(HttpClient httpClient, Traffic traffic, Scenario scenario) {
+        this.httpClient = httpClient;
+        this.traffic = traffic;
+        this.scenario = scenario;
+    }
+
+    Results run() throws InterruptedException {
+        Results results = new Results();
+        long interval = TimeUnit.SECONDS.toNanos(1) / scenario.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Traffic.Request request = traffic.next();
+            boolean measured = due >= measureFrom;
+            if (inFlight.get() >= scenario.maxInFlight()) {
+                if (measured) {
+                    results.dropped(request.kind());
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            httpClient.sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        if (!measured) {
+                            return;
+                        }
+                        long latency = System.nanoTime() - due;
+                        if (error == null) {
+                            results.record(request.kind(), latency, response.statusCode());
+                        } else {
+                            results.failed(request.kind(), latency);
+                        }
+                    });
+        }
+        long drainDeadline = System.nanoTime() + Duration.ofSeconds(35).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return results;
+    }
+}
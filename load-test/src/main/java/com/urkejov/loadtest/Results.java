@@ -0,0 +1,135 @@
+package com.urkejov.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts per request kind, over the measured part of a run. Latency
+ * is taken from each request's scheduled send time, so time spent queued behind a slow
+ * system is included instead of being hidden (no coordinated omission).
+ */
+final class Results {
+
+    private final ConcurrentMap<String, Kind> kinds = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Long>> pinnedFrames = new LinkedHashMap<>();
+
+    void record(String kind, long latencyNanos, int statusCode) {
+        Kind results = kind(kind);
+        results.latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+        results.statuses.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * The request was sent but no response arrived (timeout, connection failure).
+     */
+    void failed(String kind, long latencyNanos) {
+        record(kind, latencyNanos, 0);
+    }
+
+    /**
+     * The request was never sent because {@code max-in-flight} were already outstanding.
+     */
+    void dropped(String kind) {
+        kind(kind).dropped.increment();
+    }
+
+    void pinned(String service, Map<String, Long> frames) {
+        pinnedFrames.put(service, frames);
+    }
+
+    void print(Scenario scenario, Duration measured, PrintStream out) {
+        if (scenario.connections() > 0) {
+            out.printf("%nScenario %s: %d connections for %ds%n", scenario.name(), scenario.connections(), measured.toSeconds());
+        } else {
+            out.printf("%nScenario %s: %d rps offered for %ds%n", scenario.name(), scenario.rps(), measured.toSeconds());
+        }
+        out.printf("%-10s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "kind", "requests", "rps", "errors", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summary(measured).forEach((kind, summary) -> out.printf("%-10s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                kind, summary.get("requests"), summary.get("throughput"), summary.get("errors"), summary.get("dropped"),
+                summary.get("p50"), summary.get("p90"), summary.get("p99"), summary.get("p999"), summary.get("max")));
+        if (scenario.virtualThreads()) {
+            pinnedFrames.forEach((service, frames) -> {
+                out.printf("%s: %d pinned virtual threads%n", service, frames.values().stream().mapToLong(Long::longValue).sum());
+                frames.forEach((frame, count) -> out.printf("  %6d  %s%n", count, frame));
+            });
+        }
+    }
+
+    void write(Scenario scenario, Duration measured, Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.name());
+        report.put("settings", scenario.asMap());
+        report.put("measuredSeconds", measured.toSeconds());
+        report.put("results", summary(measured));
+        if (scenario.virtualThreads()) {
+            report.put("pinnedFrames", pinnedFrames);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private Map<String, Map<String, Object>> summary(Duration measured) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        Histogram all = new Histogram(3);
+        Kind total = new Kind();
+        kinds.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            summary.put(entry.getKey(), entry.getValue().summary(measured));
+            all.add(entry.getValue().latencies);
+            entry.getValue().statuses.forEach((code, count) -> total.statuses.computeIfAbsent(code, c -> new LongAdder()).add(count.sum()));
+            total.dropped.add(entry.getValue().dropped.sum());
+        });
+        total.latencies.add(all);
+        summary.put("all", total.summary(measured));
+        return summary;
+    }
+
+    private Kind kind(String kind) {
+        return kinds.computeIfAbsent(kind, k -> new Kind());
+    }
+
+    private static final class Kind {
+
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+
+        Map<String, Object> summary(Duration measured) {
+            long requests = latencies.getTotalCount();
+            long errors = statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 300)
+                    .mapToLong(entry -> entry.getValue().sum())
+                    .sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests);
+            summary.put("throughput", (requests - errors) / (double) measured.toSeconds());
+            summary.put("errors", errors);
+            summary.put("dropped", dropped.sum());
+            summary.put("p50", millis(latencies.getValueAtPercentile(50)));
+            summary.put("p90", millis(latencies.getValueAtPercentile(90)));
+            summary.put("p99", millis(latencies.getValueAtPercentile(99)));
+            summary.put("p999", millis(latencies.getValueAtPercentile(99.9)));
+            summary.put("max", millis(latencies.getMaxValue()));
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            statuses.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> statusCounts.put(entry.getKey() == 0 ? "no response" : entry.getKey().toString(), entry.getValue().sum()));
+            summary.put("statuses", statusCounts);
+            return summary;
+        }
+
+        private static double millis(long micros) {
+            return micros / 1_000.0;
+        }
+    }
+}
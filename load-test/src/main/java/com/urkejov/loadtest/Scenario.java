@@ -0,0 +1,211 @@
+package com.urkejov.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A saved traffic profile from {@code scenarios/<name>.properties} (or a file path), with
+ * {@code key=value} overrides from the command line. Keys prefixed with a service name,
+ * such as {@code order-service.order.placement.group-commit.enabled}, are passed to that
+ * service as {@code --key=value}.
+ */
+final class Scenario {
+
+    static final List<String> SERVICES = List.of("inventory-service", "user-service", "order-service");
+
+    private final String name;
+    private final Properties properties;
+
+    private Scenario(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    static Scenario load(String name, List<String> overrides) {
+        Properties properties = new Properties();
+        try (InputStream defaults = Scenario.class.getResourceAsStream("/scenarios/defaults.properties")) {
+            properties.load(defaults);
+            Path file = Path.of(name);
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                }
+                name = file.getFileName().toString().replaceFirst("\\.properties$", "");
+            } else {
+                try (InputStream in = Scenario.class.getResourceAsStream("/scenarios/" + name + ".properties")) {
+                    if (in == null) {
+                        throw new IllegalArgumentException("Unknown scenario " + name);
+                    }
+                    properties.load(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String override : overrides) {
+            int separator = override.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got " + override);
+            }
+            properties.setProperty(override.substring(0, separator), override.substring(separator + 1));
+        }
+        return new Scenario(name, properties);
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Target arrival rate. Requests are sent on schedule whether or not earlier ones have
+     * completed, so a slow system shows up as latency rather than as a lower send rate.
+     */
+    int rps() {
+        return integer("rps");
+    }
+
+    Duration warmup() {
+        return duration("warmup");
+    }
+
+    Duration duration() {
+        return duration("duration");
+    }
+
+    /**
+     * Requests allowed to be outstanding at once; beyond that new ones are counted as
+     * dropped instead of sent.
+     */
+    int maxInFlight() {
+        return integer("max-in-flight");
+    }
+
+    /**
+     * When above zero, this many clients each keep one request outstanding and
+     * {@code rps} and {@code max-in-flight} are ignored (closed model).
+     */
+    int connections() {
+        return integer("connections");
+    }
+
+    Duration requestTimeout() {
+        return duration("request-timeout");
+    }
+
+    /**
+     * {@code threads=virtual} starts every service with the {@code virtual-threads}
+     * profile; the default {@code platform} keeps Tomcat's platform-thread pool.
+     */
+    boolean virtualThreads() {
+        String threads = properties.getProperty("threads", "platform").trim();
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("threads must be platform or virtual but was " + threads);
+        }
+        return threads.equals("virtual");
+    }
+
+    int skus() {
+        return integer("skus");
+    }
+
+    int stock() {
+        return integer("stock");
+    }
+
+    /**
+     * The first {@code hot-skus} SKUs receive {@code hot-share} of all cart lines.
+     */
+    int hotSkus() {
+        return integer("hot-skus");
+    }
+
+    double hotShare() {
+        return decimal("hot-share");
+    }
+
+    int cartLines() {
+        return integer("cart.lines");
+    }
+
+    int cartMaxQuantity() {
+        return integer("cart.max-quantity");
+    }
+
+    int users() {
+        return integer("users");
+    }
+
+    double orderShare() {
+        return decimal("mix.order");
+    }
+
+    double userReadShare() {
+        return decimal("mix.user-read");
+    }
+
+    Path servicesDir() {
+        return Path.of(properties.getProperty("services-dir"));
+    }
+
+    List<String> jvmArgs() {
+        String jvmArgs = properties.getProperty("jvm-args", "").trim();
+        return jvmArgs.isEmpty() ? List.of() : List.of(jvmArgs.split("\\s+"));
+    }
+
+    List<String> serviceArgs(String service) {
+        List<String> args = new ArrayList<>();
+        properties.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(service + "."))
+                .sorted()
+                .forEach(key -> args.add("--" + key.substring(service.length() + 1) + "=" + properties.getProperty(key)));
+        return args;
+    }
+
+    Map<String, String> asMap() {
+        Map<String, String> settings = new TreeMap<>();
+        properties.stringPropertyNames().forEach(key -> settings.put(key, properties.getProperty(key)));
+        return settings;
+    }
+
+    private int integer(String key) {
+        return Integer.parseInt(required(key));
+    }
+
+    private double decimal(String key) {
+        return Double.parseDouble(required(key));
+    }
+
+    /**
+     * {@code 500ms}, {@code 30s}, {@code 2m} or ISO-8601.
+     */
+    private Duration duration(String key) {
+        String value = required(key);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+
+    private String required(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Scenario " + name + " does not set " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,165 @@
+package com.urkejov.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One service started from its Spring Boot jar in a child JVM, on a free port and an
+ * in-memory H2 database instead of MySQL. The H2 jar is added with the Boot launcher's
+ * {@code loader.path}, since the services only have it as a test dependency.
+ * <p>
+ * With {@code threads=virtual} the service runs its {@code virtual-threads} profile and
+ * {@code -Djdk.tracePinnedThreads=short}, so every virtual thread that blocks while
+ * holding a monitor leaves the offending frame in the log.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final String LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+    private static final String PINNED_FRAME_MARKER = "<== monitors";
+
+    private final String name;
+    private final int port;
+    private final Process process;
+    private final Path log;
+
+    private ServiceProcess(String name, int port, Process process, Path log) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+        this.log = log;
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static ServiceProcess start(String name, int port, Scenario scenario, List<String> args, Path workDir) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(scenario.jvmArgs());
+        if (scenario.virtualThreads()) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("threads=virtual needs the load test to run on JDK 21 or later, not "
+                        + Runtime.version());
+            }
+            command.add("-Djdk.tracePinnedThreads=short");
+        }
+        command.add("-Dloader.path=" + h2Jar());
+        command.add("-cp");
+        command.add(jar(scenario.servicesDir(), name).toString());
+        command.add(LAUNCHER);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        command.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        command.add("--spring.flyway.enabled=false");
+        command.add("--eureka.client.enabled=false");
+        command.add("--logging.level.root=WARN");
+        command.add("--management.tracing.enabled=false");
+        if (scenario.virtualThreads()) {
+            command.add("--spring.profiles.active=virtual-threads");
+        }
+        command.addAll(args);
+        command.addAll(scenario.serviceArgs(name));
+        Path log = workDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new ServiceProcess(name, port, process, log);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Frames that held a monitor while a virtual thread was pinned, with how often each
+     * was reported; empty unless the service runs with {@code threads=virtual}.
+     */
+    Map<String, Long> pinnedFrames() throws IOException {
+        try (Stream<String> lines = Files.lines(log)) {
+            return lines.filter(line -> line.contains(PINNED_FRAME_MARKER))
+                    .map(String::strip)
+                    .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()));
+        }
+    }
+
+    void awaitHealthy(HttpClient httpClient, String bearerToken, Duration timeout) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/health")).timeout(Duration.ofSeconds(2));
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become healthy within " + timeout + ", see " + log);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(20, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private static Path jar(Path servicesDir, String name) throws IOException {
+        Path target = servicesDir.resolve(name).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                var jar = files.filter(file -> file.getFileName().toString().startsWith(name + "-")
+                                && file.getFileName().toString().endsWith(".jar"))
+                        .findFirst();
+                if (jar.isPresent()) {
+                    return jar.get();
+                }
+            }
+        }
+        throw new IllegalStateException("No jar in " + target + ", run mvn package -DskipTests in " + name + " first");
+    }
+
+    private static Path h2Jar() {
+        try {
+            return Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.urkejov.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds the next request of a scenario's mix: an order whose cart follows the
+ * scenario's hot-SKU skew, or a read of a random seeded user.
+ */
+final class Traffic {
+
+    static final String ORDER = "order";
+    static final String USER_READ = "user-read";
+
+    private final Scenario scenario;
+    private final ObjectMapper objectMapper;
+    private final URI orderUri;
+    private final String userUrl;
+    private final List<String> userIds;
+    private final String userToken;
+
+    Traffic(Scenario scenario, ObjectMapper objectMapper, String orderServiceUrl, String userServiceUrl,
+            List<String> userIds, String userToken) {
+        this.scenario = scenario;
+        this.objectMapper = objectMapper;
+        this.orderUri = URI.create(orderServiceUrl + "/api/order");
+        this.userUrl = userServiceUrl + "/api/v1/users/";
+        this.userIds = userIds;
+        this.userToken = userToken;
+    }
+
+    record Request(String kind, HttpRequest httpRequest) {
+    }
+
+    Request next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (!userIds.isEmpty() && random.nextDouble() * (scenario.orderShare() + scenario.userReadShare()) >= scenario.orderShare()) {
+            return new Request(USER_READ, HttpRequest.newBuilder(URI.create(userUrl + userIds.get(random.nextInt(userIds.size()))))
+                    .timeout(scenario.requestTimeout())
+                    .header("Authorization", "Bearer " + userToken)
+                    .GET()
+                    .build());
+        }
+        return new Request(ORDER, HttpRequest.newBuilder(orderUri)
+                .timeout(scenario.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(cart(random)))
+                .build());
+    }
+
+    private byte[] cart(ThreadLocalRandom random) {
+        List<Map<String, Object>> lines = new ArrayList<>(scenario.cartLines());
+        for (int i = 0; i < scenario.cartLines(); i++) {
+            int sku = scenario.hotSkus() > 0 && random.nextDouble() < scenario.hotShare()
+                    ? random.nextInt(scenario.hotSkus())
+                    : random.nextInt(scenario.skus());
+            lines.add(Map.of(
+                    "skuCode", skuCode(sku),
+                    "price", BigDecimal.valueOf(100 + sku % 900),
+                    "quantity", 1 + random.nextInt(scenario.cartMaxQuantity())));
+        }
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("orderItemsDtoList", lines));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String skuCode(int sku) {
+        return "SKU-" + sku;
+    }
+}
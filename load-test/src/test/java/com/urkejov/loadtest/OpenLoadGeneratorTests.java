@@ -0,0 +1,180 @@
+package com.urkejov.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenLoadGeneratorTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void latencyIsMeasuredFromTheScheduledSendTime() throws Exception {
+		// 100 rps for one second; the first send stalls the generator for 300 ms and every
+		// response is instant, so only the requests that fell behind schedule are slow.
+		Scenario scenario = Scenario.load("flash-sale", List.of("rps=100", "warmup=0s", "duration=1s", "max-in-flight=1000"));
+		Traffic traffic = new Traffic(scenario, new ObjectMapper(), "http://order-service", "http://user-service", List.of(), "token");
+		StallingHttpClient httpClient = new StallingHttpClient(Duration.ofMillis(300));
+
+		Results results = new OpenLoadGenerator(httpClient, traffic, scenario).run();
+
+		JsonNode all = summary(results, scenario).get("all");
+		assertThat(all.get("requests").asLong()).isEqualTo(httpClient.sent.get()).isEqualTo(100);
+		// Measured from the actual send, the ~30 requests queued behind the stall would take
+		// no time at all and p90 would be about zero.
+		assertThat(all.get("p90").asDouble()).isGreaterThan(100);
+		assertThat(all.get("max").asDouble()).isGreaterThanOrEqualTo(280);
+		assertThat(all.get("p50").asDouble()).isLessThan(50);
+	}
+
+	private JsonNode summary(Results results, Scenario scenario) throws IOException {
+		Path report = tempDir.resolve("report.json");
+		results.write(scenario, Duration.ofSeconds(1), report);
+		return new ObjectMapper().readTree(report.toFile()).get("results");
+	}
+
+	/**
+	 * Answers every request at once with 200, but holds the calling thread on the first send.
+	 */
+	private static final class StallingHttpClient extends HttpClient {
+
+		private final Duration stall;
+		private final AtomicInteger sent = new AtomicInteger();
+
+		StallingHttpClient(Duration stall) {
+			this.stall = stall;
+		}
+
+		@Override
+		public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+			if (sent.incrementAndGet() == 1) {
+				try {
+					Thread.sleep(stall.toMillis());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return CompletableFuture.completedFuture(new OkResponse<>(request));
+		}
+
+		@Override
+		public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler,
+																HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+			return sendAsync(request, responseBodyHandler);
+		}
+
+		@Override
+		public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+			return sendAsync(request, responseBodyHandler).join();
+		}
+
+		@Override
+		public Optional<CookieHandler> cookieHandler() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Optional<Duration> connectTimeout() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Redirect followRedirects() {
+			return Redirect.NEVER;
+		}
+
+		@Override
+		public Optional<ProxySelector> proxy() {
+			return Optional.empty();
+		}
+
+		@Override
+		public SSLContext sslContext() {
+			return null;
+		}
+
+		@Override
+		public SSLParameters sslParameters() {
+			return null;
+		}
+
+		@Override
+		public Optional<Authenticator> authenticator() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Version version() {
+			return Version.HTTP_1_1;
+		}
+
+		@Override
+		public Optional<Executor> executor() {
+			return Optional.empty();
+		}
+	}
+
+	private record OkResponse<T>(HttpRequest request) implements HttpResponse<T> {
+
+		@Override
+		public int statusCode() {
+			return 200;
+		}
+
+		@Override
+		public Optional<HttpResponse<T>> previousResponse() {
+			return Optional.empty();
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return HttpHeaders.of(Map.of(), (name, value) -> true);
+		}
+
+		@Override
+		public T body() {
+			return null;
+		}
+
+		@Override
+		public Optional<SSLSession> sslSession() {
+			return Optional.empty();
+		}
+
+		@Override
+		public URI uri() {
+			return request.uri();
+		}
+
+		@Override
+		public HttpClient.Version version() {
+			return HttpClient.Version.HTTP_1_1;
+		}
+	}
+
+}
@@ -0,0 +1,280 @@
+package com.urkejov.orderservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urkejov.orderservice.config.InventoryClientProperties;
+import com.urkejov.orderservice.dto.AvailabilityItem;
+import com.urkejov.orderservice.dto.AvailabilityRequest;
+import com.urkejov.orderservice.dto.AvailabilityResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side front for the inventory availability check.
+ * <ul>
+ *     <li>the available quantity of a SKU is cached for {@code inventory.client.cache-ttl};</li>
+ *     <li>a SKU that is already being fetched joins the in-flight lookup instead of
+ *     starting a new one;</li>
+ *     <li>SKUs requested by concurrent orders within {@code inventory.client.batch-window}
+ *     are sent to inventory-service as a single request.</li>
+ * </ul>
+ * Requests are a POST body of (SKU, requested quantity) pairs, encoded as Smile or JSON
+ * per {@code inventory.client.encoding}, so large carts are not bound by URL length.
+ * SKUs that inventory-service does not know are reported with no available quantity.
+ * <p>
+ * Every request runs through the {@code inventory} circuit breaker and bulkhead and can
+ * be hedged with a second request when {@code inventory.client.hedge.enabled} is set.
+ * Calls rejected by either of them fail with 503 instead of waiting on a slow
+ * inventory-service.
+ * <p>
+ * Each batch is timed as {@code inventory.client.batch} with its outcome, its SKU count
+ * is recorded in {@code inventory.client.batch.size}, and the SKUs waiting for a batch or
+ * for an answer are exposed as gauges.
+ * <p>
+ * A batch is sent outside of any request, so its HTTP call is traced as a child of the
+ * request that opened the batch window; requests that joined the batch later share that
+ * call but do not link to it.
+ */
+@Component
+public class InventoryClient {
+
+    static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final WebClient webClient;
+    private final InventoryClientProperties inventoryClientProperties;
+    private final MediaType mediaType;
+    private final Cache<String, Integer> cache;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter hedgedRequests;
+    private final Timer batchSuccess;
+    private final Timer batchFailure;
+    private final DistributionSummary batchSize;
+    private final ObservationRegistry observationRegistry;
+
+    private final ConcurrentMap<String, CompletableFuture<Integer>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> requestedQuantities = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicReference<Observation> batchParent = new AtomicReference<>();
+
+    public InventoryClient(WebClient webClient,
+                           InventoryClientProperties inventoryClientProperties,
+                           CircuitBreaker inventoryCircuitBreaker,
+                           Bulkhead inventoryBulkhead,
+                           MeterRegistry meterRegistry,
+                           ObservationRegistry observationRegistry) {
+        this.webClient = webClient;
+        this.inventoryClientProperties = inventoryClientProperties;
+        this.mediaType = inventoryClientProperties.getEncoding() == InventoryClientProperties.Encoding.SMILE
+                ? APPLICATION_SMILE
+                : MediaType.APPLICATION_JSON;
+        this.circuitBreaker = inventoryCircuitBreaker;
+        this.bulkhead = inventoryBulkhead;
+        this.observationRegistry = observationRegistry;
+        this.hedgedRequests = Counter.builder("inventory.client.hedged.requests")
+                .description("Backup inventory requests sent because the first one was slow")
+                .register(meterRegistry);
+        this.batchSuccess = batchTimer(meterRegistry, "success");
+        this.batchFailure = batchTimer(meterRegistry, "failure");
+        this.batchSize = DistributionSummary.builder("inventory.client.batch.size")
+                .description("SKUs sent to inventory-service in one availability request")
+                .baseUnit("skus")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("inventory.client.pending", pendingCount, AtomicInteger::get)
+                .description("SKUs waiting for the next availability batch")
+                .register(meterRegistry);
+        Gauge.builder("inventory.client.in.flight", inFlight, Map::size)
+                .description("SKUs with an availability lookup that has not completed yet")
+                .register(meterRegistry);
+        this.cache = inventoryClientProperties.getCacheTtl().isZero()
+                ? null
+                : Caffeine.newBuilder()
+                .maximumSize(inventoryClientProperties.getCacheMaximumSize())
+                .expireAfterWrite(inventoryClientProperties.getCacheTtl())
+                .recordStats()
+                .build();
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "inventory.availability");
+        }
+    }
+
+    private static Timer batchTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("inventory.client.batch")
+                .description("Round trip of one availability batch, including hedging and resilience")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the available quantity of every SKU in {@code requestedQuantities}; the
+     * caller decides whether that covers what it needs.
+     */
+    public Mono<Map<String, Integer>> getAvailableQuantities(Map<String, Integer> requestedQuantities) {
+        Map<String, CompletableFuture<Integer>> futures = new LinkedHashMap<>();
+        requestedQuantities.forEach((skuCode, quantity) -> futures.put(skuCode, lookup(skuCode, quantity)));
+        CompletableFuture<Map<String, Integer>> all = CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, Integer> quantities = new LinkedHashMap<>();
+                    futures.forEach((skuCode, future) -> quantities.put(skuCode, future.join()));
+                    return quantities;
+                });
+        return Mono.fromFuture(all, true);
+    }
+
+    private CompletableFuture<Integer> lookup(String skuCode, int requestedQuantity) {
+        if (cache != null) {
+            Integer cached = cache.getIfPresent(skuCode);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        CompletableFuture<Integer> future = inFlight.computeIfAbsent(skuCode, key -> {
+            requestedQuantities.put(key, requestedQuantity);
+            enqueue(key);
+            return new CompletableFuture<>();
+        });
+        // Still queued: make sure the batch asks for the largest quantity any waiter needs.
+        requestedQuantities.computeIfPresent(skuCode, (key, quantity) -> Math.max(quantity, requestedQuantity));
+        return future;
+    }
+
+    private void enqueue(String skuCode) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current != null) {
+            batchParent.compareAndSet(null, current);
+        }
+        pending.add(skuCode);
+        if (pendingCount.incrementAndGet() >= inventoryClientProperties.getMaxBatchSize()) {
+            Schedulers.parallel().schedule(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::flush,
+                    inventoryClientProperties.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<String> batch = new ArrayList<>();
+        List<AvailabilityItem> items = new ArrayList<>();
+        String skuCode;
+        while (batch.size() < inventoryClientProperties.getMaxBatchSize() && (skuCode = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(skuCode);
+            Integer requestedQuantity = requestedQuantities.remove(skuCode);
+            items.add(new AvailabilityItem(skuCode, requestedQuantity == null ? 0 : requestedQuantity));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::flush);
+        }
+        batchSize.record(items.size());
+        Observation parent = batchParent.getAndSet(null);
+        Context context = parent == null ? Context.empty() : Context.of(ObservationThreadLocalAccessor.KEY, parent);
+        long start = System.nanoTime();
+        fetch(items).contextWrite(context).subscribe(
+                responses -> {
+                    batchSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    complete(batch, responses);
+                },
+                error -> {
+                    batchFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    fail(batch, error);
+                });
+    }
+
+    private Mono<AvailabilityResponse[]> fetch(List<AvailabilityItem> items) {
+        Mono<AvailabilityResponse[]> request = inventoryClientProperties.getHedge().isEnabled()
+                ? hedge(items)
+                : request(items);
+        return request
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(error -> error instanceof CallNotPermittedException || error instanceof BulkheadFullException,
+                        error -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Inventory service is unavailable", error));
+    }
+
+    /**
+     * Starts a backup request if the first one has not answered within the hedge delay and
+     * takes whichever answers first; the loser is cancelled.
+     */
+    private Mono<AvailabilityResponse[]> hedge(List<AvailabilityItem> items) {
+        Mono<AvailabilityResponse[]> backup = Mono.delay(inventoryClientProperties.getHedge().getDelay())
+                .doOnNext(ignored -> hedgedRequests.increment())
+                .then(Mono.defer(() -> request(items)));
+        return Mono.firstWithValue(request(items), backup);
+    }
+
+    private Mono<AvailabilityResponse[]> request(List<AvailabilityItem> items) {
+        return webClient.post()
+                .uri(inventoryClientProperties.getBaseUrl() + "/api/inventory/availability")
+                .contentType(mediaType)
+                .accept(mediaType)
+                .bodyValue(new AvailabilityRequest(items))
+                .retrieve()
+                .bodyToMono(AvailabilityResponse[].class)
+                .defaultIfEmpty(new AvailabilityResponse[0]);
+    }
+
+    private void complete(List<String> batch, AvailabilityResponse[] responses) {
+        Map<String, Integer> bySku = Arrays.stream(responses)
+                .collect(Collectors.toMap(AvailabilityResponse::getSkuCode, AvailabilityResponse::getAvailableQuantity,
+                        (first, second) -> first));
+        for (String skuCode : batch) {
+            Integer availableQuantity = bySku.getOrDefault(skuCode, 0);
+            if (cache != null) {
+                cache.put(skuCode, availableQuantity);
+            }
+            CompletableFuture<Integer> future = inFlight.remove(skuCode);
+            if (future != null) {
+                future.complete(availableQuantity);
+            }
+        }
+    }
+
+    private void fail(List<String> batch, Throwable error) {
+        for (String skuCode : batch) {
+            CompletableFuture<Integer> future = inFlight.remove(skuCode);
+            if (future != null) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.urkejov.orderservice.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.*;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency-aware load balancer: power of two choices over a peak-EWMA cost.
+ * <p>
+ * Two random instances are sampled and the one with the lower
+ * {@code ewmaLatency * (inFlight + 1)} wins. The EWMA jumps straight up to a slower
+ * sample and decays towards faster ones over {@code decayTime}, so a slow or failing
+ * instance quickly loses traffic and recovers gradually. Instances without samples
+ * cost nothing and get probed first.
+ * <p>
+ * Latency and outstanding requests are recorded by {@link #statsFilter()}, which has to
+ * run inside the load-balancer filter so it sees the chosen instance. It releases a
+ * request on every terminal signal, including the cancel a hedge or timeout sends to
+ * the losing request, which Spring Cloud's lifecycle callbacks never report.
+ */
+@Slf4j
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                String serviceId,
+                                Duration decayTime,
+                                Duration failurePenalty) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.decayNanos = decayTime.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        long now = System.nanoTime();
+        return new DefaultResponse(statsFor(a).cost(now) <= statsFor(b).cost(now) ? a : b);
+    }
+
+    /**
+     * Counts each exchange against the instance its URL was resolved to. A response is a
+     * latency sample, an error a sample of at least the failure penalty, and a cancelled
+     * exchange only gives back its in-flight slot.
+     */
+    public ExchangeFilterFunction statsFilter() {
+        return (request, next) -> Mono.defer(() -> {
+            InstanceStats instanceStats = statsFor(request.url().getHost(), request.url().getPort());
+            long start = System.nanoTime();
+            instanceStats.start();
+            return next.exchange(request)
+                    .doFinally(signal -> {
+                        long now = System.nanoTime();
+                        switch (signal) {
+                            case ON_COMPLETE -> instanceStats.complete(now - start, now);
+                            case ON_ERROR -> instanceStats.complete(Math.max(now - start, failurePenaltyNanos), now);
+                            default -> instanceStats.release();
+                        }
+                    });
+        });
+    }
+
+    int inFlight(ServiceInstance instance) {
+        return statsFor(instance).inFlight();
+    }
+
+    private InstanceStats statsFor(ServiceInstance instance) {
+        return statsFor(instance.getHost(), instance.getPort());
+    }
+
+    private InstanceStats statsFor(String host, int port) {
+        return stats.computeIfAbsent(host + ":" + port, key -> new InstanceStats());
+    }
+
+    private final class InstanceStats {
+
+        private double ewmaNanos;
+        private long lastUpdateNanos = System.nanoTime();
+        private int inFlight;
+
+        synchronized void start() {
+            inFlight++;
+        }
+
+        synchronized void release() {
+            inFlight = Math.max(0, inFlight - 1);
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+
+        synchronized void complete(long latencyNanos, long now) {
+            inFlight = Math.max(0, inFlight - 1);
+            if (latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(now - lastUpdateNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdateNanos = now;
+        }
+
+        synchronized double cost(long now) {
+            double weight = Math.exp(-(now - lastUpdateNanos) / decayNanos);
+            return ewmaNanos * weight * (inFlight + 1);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.urkejov.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.client")
+public class InventoryClientProperties {
+
+    /**
+     * Base URL of inventory-service.
+     */
+    private String baseUrl = "http://localhost:8082";
+
+    /**
+     * How long SKU lookups from concurrent orders are collected before one request is sent.
+     */
+    private Duration batchWindow = Duration.ofMillis(2);
+
+    /**
+     * Maximum SKUs per inventory request; a full batch is sent without waiting for the window.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Body encoding of availability requests and responses.
+     */
+    private Encoding encoding = Encoding.SMILE;
+
+    /**
+     * How long an inventory answer is reused. Zero disables the cache.
+     */
+    private Duration cacheTtl = Duration.ofMillis(500);
+
+    private long cacheMaximumSize = 10_000;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Maximum time between sending the request and receiving the full response.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(2);
+
+    private final PoolSettings pool = new PoolSettings();
+
+    private final CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    private final BulkheadSettings bulkhead = new BulkheadSettings();
+
+    private final HedgeSettings hedge = new HedgeSettings();
+
+    private final LoadBalancerSettings loadBalancer = new LoadBalancerSettings();
+
+    public enum Encoding {
+        JSON, SMILE
+    }
+
+    @Data
+    public static class PoolSettings {
+
+        private int maxConnections = 200;
+
+        /**
+         * How long a request waits for a free connection before failing.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+
+        private float failureRateThreshold = 50;
+
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+
+        private float slowCallRateThreshold = 80;
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private Duration waitDurationInOpenState = Duration.ofSeconds(5);
+
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class BulkheadSettings {
+
+        /**
+         * Maximum inventory requests in flight at once.
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * How long a request waits for a bulkhead permit. Zero fails immediately.
+         */
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+
+    @Data
+    public static class HedgeSettings {
+
+        /**
+         * Send a second request when the first has not answered within the delay and use
+         * whichever answers first.
+         */
+        private boolean enabled = false;
+
+        private Duration delay = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class LoadBalancerSettings {
+
+        /**
+         * Resolve the host of {@code base-url} as a service id through the discovery server.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How quickly old latency samples stop influencing an instance's score.
+         */
+        private Duration decayTime = Duration.ofSeconds(10);
+
+        /**
+         * Latency recorded for a failed request, so failing instances are avoided.
+         */
+        private Duration failurePenalty = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,27 @@
+package com.urkejov.orderservice.config;
+
+import com.urkejov.orderservice.client.PeakEwmaLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-client configuration for the inventory-service load balancer. Deliberately not a
+ * {@code @Configuration}: Spring Cloud registers it in the child context of the client only.
+ */
+public class InventoryLoadBalancerConfig {
+
+    @Bean
+    public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+                                                      LoadBalancerClientFactory loadBalancerClientFactory,
+                                                      InventoryClientProperties inventoryClientProperties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        InventoryClientProperties.LoadBalancerSettings settings = inventoryClientProperties.getLoadBalancer();
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                settings.getDecayTime(),
+                settings.getFailurePenalty());
+    }
+}
@@ -0,0 +1,34 @@
+package com.urkejov.orderservice.config;
+
+import com.urkejov.orderservice.client.PeakEwmaLoadBalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.client.load-balancer.enabled", havingValue = "true")
+@LoadBalancerClient(name = LoadBalancerConfig.INVENTORY_SERVICE, configuration = InventoryLoadBalancerConfig.class)
+public class LoadBalancerConfig {
+
+    static final String INVENTORY_SERVICE = "inventory-service";
+
+    /**
+     * Routes inventory calls through the registry: the host of
+     * {@code inventory.client.base-url} is resolved as a service id on every request.
+     * The peak-EWMA stats filter is added after it so it sees the resolved instance.
+     */
+    @Bean
+    public WebClientCustomizer loadBalancerWebClientCustomizer(ReactorLoadBalancerExchangeFilterFunction loadBalancerExchangeFilterFunction,
+                                                               LoadBalancerClientFactory loadBalancerClientFactory) {
+        return webClientBuilder -> webClientBuilder
+                .filter(loadBalancerExchangeFilterFunction)
+                .filter((request, next) -> loadBalancerClientFactory
+                        .getInstance(INVENTORY_SERVICE, PeakEwmaLoadBalancer.class)
+                        .statsFilter()
+                        .filter(request, next));
+    }
+}
@@ -0,0 +1,31 @@
+package com.urkejov.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.idempotency")
+public class OrderIdempotencyProperties {
+
+    /**
+     * How long a key is remembered; a retry after that places a new order.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * How often keys older than the retention are deleted.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    /**
+     * Completed keys kept in memory in front of the order_idempotency_keys table.
+     */
+    private long cacheMaximumSize = 100_000;
+
+    /**
+     * Longest accepted key, matching the width of the key column.
+     */
+    private int maxKeyLength = 255;
+}
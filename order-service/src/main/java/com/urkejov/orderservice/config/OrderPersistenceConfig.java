@@ -0,0 +1,39 @@
+package com.urkejov.orderservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({OrderPlacementProperties.class, OrderIdempotencyProperties.class})
+public class OrderPersistenceConfig {
+
+    /**
+     * Bounded pool the non-blocking pipeline hands JPA writes to, so blocking JDBC
+     * calls never run on Netty or servlet threads. A full queue rejects the order
+     * instead of growing without limit. Queue depth, active threads and task timings
+     * are published under {@code executor.*} with {@code name=order.persistence}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler orderPersistenceScheduler(OrderPlacementProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getPersistencePoolSize(),
+                properties.getPersistencePoolSize(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getPersistenceQueueCapacity()),
+                new CustomizableThreadFactory("order-persistence-"));
+        return Schedulers.fromExecutorService(
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, "order.persistence"), "order-persistence");
+    }
+}
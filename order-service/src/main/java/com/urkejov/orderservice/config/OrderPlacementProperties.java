@@ -0,0 +1,64 @@
+package com.urkejov.orderservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.placement")
+public class OrderPlacementProperties {
+
+    /**
+     * BLOCKING keeps the original request-thread flow, NON_BLOCKING releases the
+     * servlet thread while inventory is checked and the order is persisted.
+     */
+    private Mode mode = Mode.NON_BLOCKING;
+
+    /**
+     * Threads available for JPA writes issued by the non-blocking pipeline.
+     */
+    private int persistencePoolSize = 16;
+
+    /**
+     * Pending writes accepted before new orders are rejected.
+     */
+    private int persistenceQueueCapacity = 1000;
+
+    /**
+     * Maximum number of orders accepted by a single batch submission.
+     */
+    private int maxBatchSize = 5000;
+
+    private final GroupCommitSettings groupCommit = new GroupCommitSettings();
+
+    public enum Mode {
+        BLOCKING, NON_BLOCKING
+    }
+
+    @Data
+    public static class GroupCommitSettings {
+
+        /**
+         * Commit non-blocking orders in groups from a single writer instead of one
+         * transaction per order. Callers are still answered only after their group commits.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Orders waiting for the writer before new ones are rejected.
+         */
+        private int capacity = 8192;
+
+        /**
+         * Most orders committed in one transaction.
+         */
+        private int maxSize = 256;
+
+        /**
+         * How long the writer waits for more orders before committing a group that is not
+         * full. Zero commits whatever queued up during the previous commit.
+         */
+        private Duration maxDelay = Duration.ZERO;
+    }
+}
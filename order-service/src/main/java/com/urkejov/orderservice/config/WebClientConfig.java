@@ -1,14 +1,83 @@
 package com.urkejov.orderservice.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties(InventoryClientProperties.class)
 public class WebClientConfig {
 
+    private static final String INVENTORY = "inventory";
+
+    @Bean
+    public WebClient webClient(WebClient.Builder webClientBuilder, InventoryClientProperties inventoryClientProperties) {
+        InventoryClientProperties.PoolSettings pool = inventoryClientProperties.getPool();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(INVENTORY)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) inventoryClientProperties.getConnectTimeout().toMillis())
+                .responseTimeout(inventoryClientProperties.getResponseTimeout());
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(WebClientConfig::registerSmileCodecs)
+                .build();
+    }
+
+    /**
+     * Adds {@code application/x-jackson-smile} support next to the default JSON codecs.
+     */
+    public static void registerSmileCodecs(ClientCodecConfigurer clientCodecConfigurer) {
+        clientCodecConfigurer.customCodecs().register(new Jackson2SmileEncoder());
+        clientCodecConfigurer.customCodecs().register(new Jackson2SmileDecoder());
+    }
+
+    @Bean
+    public CircuitBreaker inventoryCircuitBreaker(InventoryClientProperties inventoryClientProperties, MeterRegistry meterRegistry) {
+        InventoryClientProperties.CircuitBreakerSettings settings = inventoryClientProperties.getCircuitBreaker();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(INVENTORY);
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public Bulkhead inventoryBulkhead(InventoryClientProperties inventoryClientProperties, MeterRegistry meterRegistry) {
+        InventoryClientProperties.BulkheadSettings settings = inventoryClientProperties.getBulkhead();
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWaitDuration())
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(INVENTORY);
     }
 }
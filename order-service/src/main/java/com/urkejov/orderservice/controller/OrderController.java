@@ -1,22 +1,74 @@
 package com.urkejov.orderservice.controller;
 
+import com.urkejov.orderservice.config.OrderIdempotencyProperties;
+import com.urkejov.orderservice.config.OrderPlacementProperties;
 import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.dto.OrderResult;
+import com.urkejov.orderservice.model.IdempotencyKey;
+import com.urkejov.orderservice.service.OrderIdempotencyService;
 import com.urkejov.orderservice.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/api/order")
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String ORDER_PLACED = "Order placed successfully";
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrderService orderService;
 
+    private final OrderIdempotencyService orderIdempotencyService;
+
+    private final OrderPlacementProperties orderPlacementProperties;
+
+    private final OrderIdempotencyProperties orderIdempotencyProperties;
+
+    /**
+     * With an {@code Idempotency-Key} header the order is placed at most once per key;
+     * repeats get the original response plus {@code Idempotent-Replayed: true}.
+     */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public String placeOrder(@RequestBody OrderRequest orderRequest) {
-        orderService.placeOrder(orderRequest);
-        return "Order placed successfully";
+    public CompletableFuture<ResponseEntity<String>> placeOrder(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                                @RequestBody OrderRequest orderRequest) {
+        if (idempotencyKey == null) {
+            return place(orderRequest, null).thenApply(ignored -> ResponseEntity.status(HttpStatus.CREATED).body(ORDER_PLACED));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > orderIdempotencyProperties.getMaxKeyLength()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY + " must be 1 to " + orderIdempotencyProperties.getMaxKeyLength() + " characters");
+        }
+        return orderIdempotencyService.placeOnce(idempotencyKey, orderRequest, this::place)
+                .thenApply(result -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                        .body(ORDER_PLACED));
+    }
+
+    private CompletableFuture<String> place(OrderRequest orderRequest, IdempotencyKey idempotencyKey) {
+        if (orderPlacementProperties.getMode() == OrderPlacementProperties.Mode.BLOCKING) {
+            return CompletableFuture.completedFuture(orderService.placeOrder(orderRequest, idempotencyKey));
+        }
+        return orderService.placeOrderAsync(orderRequest, idempotencyKey);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<List<OrderResult>> placeOrders(@RequestBody List<OrderRequest> orderRequests) {
+        if (orderRequests.size() > orderPlacementProperties.getMaxBatchSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch can contain at most " + orderPlacementProperties.getMaxBatchSize() + " orders");
+        }
+        return orderService.placeOrders(orderRequests);
     }
 }
@@ -9,9 +9,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class InventoryResponse {
-
+public class AvailabilityItem {
     private String skuCode;
-    private boolean isInStock;
-
+    private Integer requestedQuantity;
 }
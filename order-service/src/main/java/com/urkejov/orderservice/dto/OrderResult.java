@@ -0,0 +1,18 @@
+package com.urkejov.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderResult {
+
+    private int index;
+    private String orderNumber;
+    private boolean placed;
+    private String message;
+}
@@ -0,0 +1,41 @@
+package com.urkejov.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * An {@code Idempotency-Key} together with the order it created. The key is assigned by
+ * the client, so the entity is always persisted as new: a second insert of the same key
+ * fails on the primary key instead of being merged over the first one.
+ */
+@Entity
+@Table(name = "order_idempotency_keys", indexes = @Index(name = "ix_order_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyKey implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+    @Column(nullable = false)
+    private String orderNumber;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,14 @@
+package com.urkejov.orderservice.repository;
+
+import com.urkejov.orderservice.model.Order;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Persists the orders in one transaction, flushing and clearing the persistence
+     * context every JDBC batch so large submissions keep a flat memory profile.
+     */
+    void persistAll(List<Order> orders);
+}
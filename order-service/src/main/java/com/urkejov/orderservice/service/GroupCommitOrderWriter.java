@@ -0,0 +1,185 @@
+package com.urkejov.orderservice.service;
+
+import com.urkejov.orderservice.config.OrderPlacementProperties;
+import com.urkejov.orderservice.model.IdempotencyKey;
+import com.urkejov.orderservice.model.Order;
+import com.urkejov.orderservice.repository.IdempotencyKeyRepository;
+import com.urkejov.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue that commits validated orders in groups. Callers enqueue into a
+ * bounded ring buffer and a single writer thread drains it, committing up to
+ * {@code max-size} orders per transaction, so concurrent orders share one commit and one
+ * log flush. A caller's future completes only once its group is durable.
+ * <p>
+ * If a group fails, its orders are retried one per transaction, so a single bad order
+ * (such as a duplicate idempotency key) fails alone.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.placement.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitOrderWriter {
+
+    private final OrderRepository orderRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingOrder> queue;
+    private final DistributionSummary groupSizes;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public GroupCommitOrderWriter(OrderRepository orderRepository,
+                                  IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  OrderPlacementProperties orderPlacementProperties,
+                                  MeterRegistry meterRegistry) {
+        OrderPlacementProperties.GroupCommitSettings settings = orderPlacementProperties.getGroupCommit();
+        this.orderRepository = orderRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxSize = settings.getMaxSize();
+        this.maxDelayNanos = settings.getMaxDelay().toNanos();
+        this.queue = new ArrayBlockingQueue<>(settings.getCapacity());
+        this.groupSizes = DistributionSummary.builder("order.group-commit.size")
+                .description("Orders committed per transaction")
+                .register(meterRegistry);
+        Gauge.builder("order.group-commit.queued", queue, BlockingQueue::size)
+                .description("Orders waiting for the group-commit writer")
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, "order-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the order, and its idempotency key if any, for the next group. Completes with
+     * the order number once committed, or fails right away if the queue is full.
+     */
+    public CompletableFuture<String> submit(Order order, IdempotencyKey idempotencyKey) {
+        PendingOrder pendingOrder = new PendingOrder(order, idempotencyKey, new CompletableFuture<>());
+        if (!running || !queue.offer(pendingOrder)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Order write queue is full"));
+        }
+        return pendingOrder.future();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(Duration.ofSeconds(10).toMillis());
+        PendingOrder pendingOrder;
+        while ((pendingOrder = queue.poll()) != null) {
+            pendingOrder.future().completeExceptionally(new RejectedExecutionException("Order writer stopped"));
+        }
+    }
+
+    private void run() {
+        List<PendingOrder> group = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit writer failed", e);
+                group.forEach(pendingOrder -> pendingOrder.future().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Takes whatever is already queued, then waits up to the configured delay for more.
+     */
+    private void fill(List<PendingOrder> group) throws InterruptedException {
+        queue.drainTo(group, maxSize - group.size());
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (group.size() < maxSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            queue.drainTo(group, maxSize - group.size());
+        }
+    }
+
+    private void commit(List<PendingOrder> group) {
+        groupSizes.record(group.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(group));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).future().completeExceptionally(e);
+                return;
+            }
+            log.debug("Group of {} orders failed, committing them one at a time", group.size(), e);
+            for (PendingOrder pendingOrder : group) {
+                pendingOrder.reset();
+                commit(List.of(pendingOrder));
+            }
+            return;
+        }
+        // Continuations run on this thread; they only hand the result back to the caller.
+        group.forEach(pendingOrder -> pendingOrder.future().complete(pendingOrder.order().getOrderNumber()));
+    }
+
+    private void persist(List<PendingOrder> group) {
+        List<Order> orders = new ArrayList<>(group.size());
+        List<IdempotencyKey> idempotencyKeys = new ArrayList<>();
+        for (PendingOrder pendingOrder : group) {
+            orders.add(pendingOrder.order());
+            if (pendingOrder.idempotencyKey() != null) {
+                pendingOrder.idempotencyKey().setOrderNumber(pendingOrder.order().getOrderNumber());
+                idempotencyKeys.add(pendingOrder.idempotencyKey());
+            }
+        }
+        orderRepository.persistAll(orders);
+        if (!idempotencyKeys.isEmpty()) {
+            idempotencyKeyRepository.saveAll(idempotencyKeys);
+            idempotencyKeyRepository.flush();
+        }
+    }
+
+    private record PendingOrder(Order order, IdempotencyKey idempotencyKey, CompletableFuture<String> future) {
+
+        /**
+         * Undoes what the rolled back transaction left behind: assigned ids would make the
+         * entities look detached, and the items list is still Hibernate's wrapper.
+         */
+        void reset() {
+            order.setId(null);
+            order.getOrderItemsList().forEach(orderItems -> orderItems.setId(null));
+            order.setOrderItemsList(new ArrayList<>(order.getOrderItemsList()));
+        }
+    }
+}
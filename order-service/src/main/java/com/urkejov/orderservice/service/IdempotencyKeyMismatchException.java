@@ -0,0 +1,15 @@
+package com.urkejov.orderservice.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The {@code Idempotency-Key} was already used for a request with a different body.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency-Key " + idempotencyKey + " was already used for a different order");
+    }
+}
@@ -0,0 +1,71 @@
+package com.urkejov.orderservice.service;
+
+import com.urkejov.orderservice.dto.OrderItemsDto;
+import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.model.Order;
+import com.urkejov.orderservice.model.OrderItems;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns order requests into {@link Order} entities and works out the stock they need.
+ * Runs once per placed order before any I/O, so it does no database access and needs
+ * nothing from Spring beyond its constructor; benchmarks build it directly.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderFactory {
+
+    private final OrderNumberGenerator orderNumberGenerator;
+
+    public Order buildOrder(OrderRequest orderRequest) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
+        List<OrderItemsDto> orderItemsDtos = orderRequest.getOrderItemsDtoList();
+        List<OrderItems> orderItems = new ArrayList<>(orderItemsDtos.size());
+        for (OrderItemsDto orderItemsDto : orderItemsDtos) {
+            OrderItems item = mapToDto(orderItemsDto);
+            item.setOrder(order);
+            orderItems.add(item);
+        }
+        order.setOrderItemsList(orderItems);
+        return order;
+    }
+
+    /**
+     * Total quantity per SKU; lines without a quantity count as one unit.
+     */
+    public Map<String, Integer> requestedQuantities(Collection<Order> orders) {
+        Map<String, Integer> requestedQuantities = new LinkedHashMap<>();
+        for (Order order : orders) {
+            for (OrderItems orderItems : order.getOrderItemsList()) {
+                int quantity = orderItems.getQuantity() == null ? 1 : orderItems.getQuantity();
+                requestedQuantities.merge(orderItems.getSkuCode(), quantity, Integer::sum);
+            }
+        }
+        return requestedQuantities;
+    }
+
+    public boolean isAllAvailable(Map<String, Integer> requestedQuantities, Map<String, Integer> availableQuantities) {
+        for (Map.Entry<String, Integer> entry : requestedQuantities.entrySet()) {
+            if (availableQuantities.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private OrderItems mapToDto(OrderItemsDto orderItemsDto) {
+        return OrderItems.builder()
+                .skuCode(orderItemsDto.getSkuCode())
+                .price(orderItemsDto.getPrice())
+                .quantity(orderItemsDto.getQuantity())
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.urkejov.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urkejov.orderservice.config.OrderIdempotencyProperties;
+import com.urkejov.orderservice.config.OrderPlacementProperties;
+import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.model.IdempotencyKey;
+import com.urkejov.orderservice.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * Places an order at most once per {@code Idempotency-Key}.
+ * <p>
+ * Completed keys are answered from an in-memory cache, then from the
+ * order_idempotency_keys table, without checking inventory or inserting again. A request
+ * that arrives while the first one with its key is still running waits for that one's
+ * outcome. The key row is inserted in the order's own transaction; if another instance
+ * got there first the insert fails, the order rolls back and its result is replayed.
+ * A failed placement stores nothing, so the client can retry it with the same key.
+ * <p>
+ * In BLOCKING mode the key is looked up on the caller's thread, so the placement runs
+ * there too instead of holding a persistence thread for the whole request.
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Scheduler orderPersistenceScheduler;
+    private final ObjectMapper objectMapper;
+    private final OrderIdempotencyProperties properties;
+    private final OrderPlacementProperties orderPlacementProperties;
+    private final Cache<String, PlacedOrder> completed;
+
+    private final ConcurrentMap<String, CompletableFuture<PlacedOrder>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                                   Scheduler orderPersistenceScheduler,
+                                   ObjectMapper objectMapper,
+                                   OrderIdempotencyProperties properties,
+                                   OrderPlacementProperties orderPlacementProperties,
+                                   MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.orderPersistenceScheduler = orderPersistenceScheduler;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.orderPlacementProperties = orderPlacementProperties;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getRetention())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "order.idempotency");
+    }
+
+    /**
+     * Runs {@code placement} unless {@code idempotencyKey} already placed an order, and
+     * returns the number of the order the key belongs to. {@code placement} receives the
+     * key row it must insert in the same transaction as the order.
+     */
+    public CompletableFuture<Result> placeOnce(String idempotencyKey,
+                                               OrderRequest orderRequest,
+                                               BiFunction<OrderRequest, IdempotencyKey, CompletableFuture<String>> placement) {
+        String requestHash = requestHash(orderRequest);
+        PlacedOrder placedOrder = completed.getIfPresent(idempotencyKey);
+        if (placedOrder != null) {
+            try {
+                return CompletableFuture.completedFuture(replay(idempotencyKey, placedOrder, requestHash));
+            } catch (IdempotencyKeyMismatchException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<PlacedOrder> first = new CompletableFuture<>();
+        CompletableFuture<PlacedOrder> running = inFlight.putIfAbsent(idempotencyKey, first);
+        if (running != null) {
+            return running.thenApply(placed -> replay(idempotencyKey, placed, requestHash));
+        }
+
+        return findOrPlace(idempotencyKey, requestHash, orderRequest, placement)
+                .toFuture()
+                .whenComplete((outcome, error) -> {
+                    if (error == null) {
+                        completed.put(idempotencyKey, outcome.placedOrder());
+                        first.complete(outcome.placedOrder());
+                    } else {
+                        first.completeExceptionally(error);
+                    }
+                    inFlight.remove(idempotencyKey, first);
+                })
+                .thenApply(outcome -> outcome.stored()
+                        ? replay(idempotencyKey, outcome.placedOrder(), requestHash)
+                        : new Result(outcome.placedOrder().orderNumber(), false));
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Mono<Outcome> findOrPlace(String idempotencyKey,
+                                      String requestHash,
+                                      OrderRequest orderRequest,
+                                      BiFunction<OrderRequest, IdempotencyKey, CompletableFuture<String>> placement) {
+        IdempotencyKey row = new IdempotencyKey(idempotencyKey, requestHash, null, LocalDateTime.now());
+        return findStored(idempotencyKey)
+                .switchIfEmpty(Mono.defer(() -> Mono.fromFuture(() -> placement.apply(orderRequest, row), true))
+                        .map(orderNumber -> new Outcome(new PlacedOrder(requestHash, orderNumber), false))
+                        // Another instance inserted the key first and our order was rolled back.
+                        .onErrorResume(DataIntegrityViolationException.class, e -> findStored(idempotencyKey)
+                                .switchIfEmpty(Mono.error(e))));
+    }
+
+    /**
+     * The placement subscribes on whichever thread this emits on, so the lookup only
+     * moves to the persistence pool when the placement itself does not block.
+     */
+    private Mono<Outcome> findStored(String idempotencyKey) {
+        Scheduler scheduler = orderPlacementProperties.getMode() == OrderPlacementProperties.Mode.BLOCKING
+                ? Schedulers.immediate()
+                : orderPersistenceScheduler;
+        return Mono.fromCallable(() -> idempotencyKeyRepository.findById(idempotencyKey)
+                        .map(stored -> new Outcome(PlacedOrder.of(stored), true))
+                        .orElse(null))
+                .subscribeOn(scheduler);
+    }
+
+    private Result replay(String idempotencyKey, PlacedOrder placedOrder, String requestHash) {
+        if (!placedOrder.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(idempotencyKey);
+        }
+        return new Result(placedOrder.orderNumber(), true);
+    }
+
+    /**
+     * SHA-256 of the request body as Jackson writes it, so a key reused for a different
+     * order is told apart from a retry.
+     */
+    private String requestHash(OrderRequest orderRequest) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsString(orderRequest).getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash order request", e);
+        }
+    }
+
+    /**
+     * @param replayed the order was placed by an earlier request with the same key
+     */
+    public record Result(String orderNumber, boolean replayed) {
+    }
+
+    private record PlacedOrder(String requestHash, String orderNumber) {
+
+        static PlacedOrder of(IdempotencyKey idempotencyKey) {
+            return new PlacedOrder(idempotencyKey.getRequestHash(), idempotencyKey.getOrderNumber());
+        }
+    }
+
+    /**
+     * @param stored read back from the table instead of placed by this request
+     */
+    private record Outcome(PlacedOrder placedOrder, boolean stored) {
+    }
+}
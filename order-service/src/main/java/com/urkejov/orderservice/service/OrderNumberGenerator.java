@@ -0,0 +1,10 @@
+package com.urkejov.orderservice.service;
+
+/**
+ * Produces the public {@code orderNumber} of a new order. The implementation is chosen
+ * with {@code order.number.generator}.
+ */
+public interface OrderNumberGenerator {
+
+    String nextOrderNumber();
+}
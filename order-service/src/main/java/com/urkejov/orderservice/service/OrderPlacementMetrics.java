@@ -0,0 +1,74 @@
+package com.urkejov.orderservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the phases of order placement as {@code order.placement.phase}, tagged with the
+ * phase and whether it succeeded. Histogram buckets are published so per-phase
+ * percentiles can be aggregated across instances.
+ */
+@Component
+public class OrderPlacementMetrics {
+
+    public enum Phase {
+        /** Mapping the request to an order and generating its number. */
+        BUILD,
+        /** Waiting for the inventory availability answer. */
+        INVENTORY,
+        /** Writing the order and its idempotency key. */
+        PERSIST
+    }
+
+    private final Map<Phase, Timer> successes = new EnumMap<>(Phase.class);
+    private final Map<Phase, Timer> failures = new EnumMap<>(Phase.class);
+
+    public OrderPlacementMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            successes.put(phase, timer(meterRegistry, phase, "success"));
+            failures.put(phase, timer(meterRegistry, phase, "failure"));
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, Phase phase, String outcome) {
+        return Timer.builder("order.placement.phase")
+                .description("Time spent in one phase of order placement")
+                .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T record(Phase phase, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            T result = step.get();
+            successes.get(phase).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            failures.get(phase).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Times {@code step} from subscription until it completes or fails; a cancelled step
+     * is not recorded.
+     */
+    public <T> Mono<T> record(Phase phase, Mono<T> step) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return step
+                    .doOnSuccess(ignored -> successes.get(phase).record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(ignored -> failures.get(phase).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+}
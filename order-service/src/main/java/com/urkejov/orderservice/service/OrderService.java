@@ -1,19 +1,23 @@
 package com.urkejov.orderservice.service;
 
-import com.urkejov.orderservice.dto.InventoryResponse;
-import com.urkejov.orderservice.dto.OrderItemsDto;
+import com.urkejov.orderservice.client.InventoryClient;
 import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.dto.OrderResult;
+import com.urkejov.orderservice.model.IdempotencyKey;
 import com.urkejov.orderservice.model.Order;
-import com.urkejov.orderservice.model.OrderItems;
+import com.urkejov.orderservice.repository.IdempotencyKeyRepository;
 import com.urkejov.orderservice.repository.OrderRepository;
+import com.urkejov.orderservice.service.OrderPlacementMetrics.Phase;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -22,39 +26,130 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
 
-    private final WebClient webClient;
-
-    public void placeOrder(OrderRequest orderRequest) {
-
-        Order order = new Order();
-        order.setOrderNumber(UUID.randomUUID().toString());
-        List<OrderItems> orderItems = orderRequest.getOrderItemsDtoList()
-                .stream()
-                .map(this::mapToDto)
-                .toList();
-        order.setOrderItemsList(orderItems);
-        List<String> skuCodes = order.getOrderItemsList().stream()
-                .map(OrderItems::getSkuCode)
-                .toList();
-        InventoryResponse[] inventoryResponseArray = webClient.get()
-                .uri("http://localhost:8082/api/inventory",
-                        uriBuilder -> uriBuilder.queryParam("skuCode", skuCodes).build())
-                .retrieve()
-                .bodyToMono(InventoryResponse[].class)
-                .block();
-        assert inventoryResponseArray != null;
-        boolean allProductsInStock = Arrays.stream(inventoryResponseArray).allMatch(InventoryResponse::isInStock);
-
-        if (Boolean.TRUE.equals(allProductsInStock)) {
-            orderRepository.save(order);
+    private final InventoryClient inventoryClient;
+
+    private final OrderFactory orderFactory;
+
+    private final Scheduler orderPersistenceScheduler;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Optional<GroupCommitOrderWriter> groupCommitOrderWriter;
+
+    private final OrderPlacementMetrics placementMetrics;
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String placeOrder(OrderRequest orderRequest) {
+        return placeOrder(orderRequest, null);
+    }
+
+    /**
+     * Places the order and, when {@code idempotencyKey} is given, records it in the same
+     * transaction. Returns the order number. The transaction only covers the insert, so
+     * no pooled connection is held while the request thread waits on inventory.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String placeOrder(OrderRequest orderRequest, IdempotencyKey idempotencyKey) {
+        Order order = placementMetrics.record(Phase.BUILD, () -> orderFactory.buildOrder(orderRequest));
+        Map<String, Integer> requestedQuantities = orderFactory.requestedQuantities(List.of(order));
+        Map<String, Integer> availableQuantities = placementMetrics.record(Phase.INVENTORY,
+                inventoryClient.getAvailableQuantities(requestedQuantities)).block();
+        assert availableQuantities != null;
+
+        if (orderFactory.isAllAvailable(requestedQuantities, availableQuantities)) {
+            return placementMetrics.record(Phase.PERSIST,
+                    () -> transactionTemplate.execute(status -> persist(order, idempotencyKey)));
         } else throw new IllegalArgumentException("Product is not in stock, please try again later");
     }
 
-    private OrderItems mapToDto(OrderItemsDto orderItemsDto) {
-        return OrderItems.builder()
-                .skuCode(orderItemsDto.getSkuCode())
-                .price(orderItemsDto.getPrice())
-                .quantity(orderItemsDto.getQuantity())
-                .build();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<String> placeOrderAsync(OrderRequest orderRequest) {
+        return placeOrderAsync(orderRequest, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #placeOrder(OrderRequest, IdempotencyKey)}. The
+     * inventory call is composed on the WebClient event loop and the save runs on the
+     * bounded persistence scheduler, so no caller thread waits on either round trip.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<String> placeOrderAsync(OrderRequest orderRequest, IdempotencyKey idempotencyKey) {
+        Order order = placementMetrics.record(Phase.BUILD, () -> orderFactory.buildOrder(orderRequest));
+        Map<String, Integer> requestedQuantities = orderFactory.requestedQuantities(List.of(order));
+        return placementMetrics.record(Phase.INVENTORY, inventoryClient.getAvailableQuantities(requestedQuantities))
+                .flatMap(availableQuantities -> orderFactory.isAllAvailable(requestedQuantities, availableQuantities)
+                        ? placementMetrics.record(Phase.PERSIST, save(order, idempotencyKey))
+                        : Mono.error(new IllegalArgumentException("Product is not in stock, please try again later")))
+                .toFuture();
+    }
+
+    /**
+     * Places a batch of orders with a single stock validation for all of their SKUs and
+     * one batched insert for every order that passed it. Orders are accepted in request
+     * order while the available quantity lasts; the rest are reported as rejected without
+     * failing the batch.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<List<OrderResult>> placeOrders(List<OrderRequest> orderRequests) {
+        List<Order> orders = placementMetrics.record(Phase.BUILD, () -> orderRequests.stream()
+                .map(orderFactory::buildOrder)
+                .toList());
+        return placementMetrics.record(Phase.INVENTORY, inventoryClient.getAvailableQuantities(orderFactory.requestedQuantities(orders)))
+                .flatMap(availableQuantities -> placementMetrics.record(Phase.PERSIST,
+                        Mono.fromCallable(() -> persistBatch(orders, new HashMap<>(availableQuantities)))
+                                .subscribeOn(orderPersistenceScheduler)))
+                .toFuture();
+    }
+
+    private List<OrderResult> persistBatch(List<Order> orders, Map<String, Integer> remainingQuantities) {
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        List<Order> accepted = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            Map<String, Integer> requestedQuantities = orderFactory.requestedQuantities(List.of(order));
+            if (orderFactory.isAllAvailable(requestedQuantities, remainingQuantities)) {
+                requestedQuantities.forEach((skuCode, quantity) -> remainingQuantities.merge(skuCode, -quantity, Integer::sum));
+                accepted.add(order);
+                results.add(OrderResult.builder()
+                        .index(i)
+                        .orderNumber(order.getOrderNumber())
+                        .placed(true)
+                        .build());
+            } else {
+                results.add(OrderResult.builder()
+                        .index(i)
+                        .placed(false)
+                        .message("Product is not in stock, please try again later")
+                        .build());
+            }
+        }
+        orderRepository.persistAll(accepted);
+        return results;
+    }
+
+    /**
+     * Commits through the group-commit writer when it is enabled, otherwise in a
+     * transaction of its own on the persistence scheduler.
+     */
+    private Mono<String> save(Order order, IdempotencyKey idempotencyKey) {
+        return groupCommitOrderWriter
+                .map(writer -> Mono.fromFuture(() -> writer.submit(order, idempotencyKey), true))
+                .orElseGet(() -> Mono.fromCallable(() -> transactionTemplate.execute(status -> persist(order, idempotencyKey)))
+                        .subscribeOn(orderPersistenceScheduler));
+    }
+
+    /**
+     * Must run inside a transaction. The key is flushed right away so a key another
+     * request already stored fails here and takes the order down with it.
+     */
+    private String persist(Order order, IdempotencyKey idempotencyKey) {
+        orderRepository.save(order);
+        if (idempotencyKey != null) {
+            idempotencyKey.setOrderNumber(order.getOrderNumber());
+            idempotencyKeyRepository.saveAndFlush(idempotencyKey);
+        }
+        return order.getOrderNumber();
     }
 }
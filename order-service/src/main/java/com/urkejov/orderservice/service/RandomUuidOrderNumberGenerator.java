@@ -0,0 +1,20 @@
+package com.urkejov.orderservice.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Original random (version 4) UUID order numbers. Every call goes through the shared
+ * {@code SecureRandom} behind {@link UUID#randomUUID()}.
+ */
+@Component
+@ConditionalOnProperty(name = "order.number.generator", havingValue = "random-uuid")
+public class RandomUuidOrderNumberGenerator implements OrderNumberGenerator {
+
+    @Override
+    public String nextOrderNumber() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,35 @@
+-- Schema as previously generated by hibernate.ddl-auto=update. Databases that already
+-- have these tables are baselined at this version and skip it.
+create table orders
+(
+    id           bigint not null,
+    created_at   datetime(6),
+    order_number varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+create table orders_seq
+(
+    next_val bigint
+) engine = InnoDB;
+
+insert into orders_seq
+values (1);
+
+create table order_items
+(
+    id       bigint not null auto_increment,
+    price    decimal(38, 2),
+    quantity integer,
+    sku_code varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+create table orders_order_items_list
+(
+    order_id            bigint not null,
+    order_items_list_id bigint not null,
+    constraint uk_orders_order_items_list_item unique (order_items_list_id),
+    constraint fk_orders_order_items_list_item foreign key (order_items_list_id) references order_items (id),
+    constraint fk_orders_order_items_list_order foreign key (order_id) references orders (id)
+) engine = InnoDB;
@@ -0,0 +1,34 @@
+-- Replace the orders_order_items_list join table with a direct order_items.order_id
+-- foreign key, and move order_items ids from AUTO_INCREMENT to a pooled table-backed
+-- sequence so item inserts can be JDBC batched.
+
+alter table order_items
+    add column order_id bigint;
+
+update order_items oi
+    join orders_order_items_list j on j.order_items_list_id = oi.id
+set oi.order_id = j.order_id;
+
+-- Items that were never linked to an order are unreachable through the old mapping.
+delete
+from order_items
+where order_id is null;
+
+alter table order_items
+    modify order_id bigint not null,
+    add index idx_order_items_order_id (order_id),
+    add constraint fk_order_items_order foreign key (order_id) references orders (id);
+
+drop table orders_order_items_list;
+
+alter table order_items
+    modify id bigint not null;
+
+create table order_items_seq
+(
+    next_val bigint
+) engine = InnoDB;
+
+insert into order_items_seq
+select coalesce(max(id), 0) + 1
+from order_items;
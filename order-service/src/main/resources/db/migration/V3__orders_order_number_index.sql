@@ -0,0 +1 @@
+create unique index uk_orders_order_number on orders (order_number);
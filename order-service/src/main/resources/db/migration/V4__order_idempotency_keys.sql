@@ -0,0 +1,12 @@
+-- Idempotency-Key values of placed orders. A key is written in the same transaction
+-- as its order, so a retried request can never create a second one.
+create table order_idempotency_keys
+(
+    idempotency_key varchar(255) not null,
+    request_hash    varchar(64)  not null,
+    order_number    varchar(255) not null,
+    created_at      datetime(6)  not null,
+    primary key (idempotency_key)
+) engine = InnoDB;
+
+create index ix_order_idempotency_keys_created_at on order_idempotency_keys (created_at);
@@ -0,0 +1,67 @@
+package com.urkejov.orderservice.benchmark;
+
+import com.urkejov.orderservice.OrderServiceApplication;
+import com.urkejov.orderservice.client.InventoryStub;
+import com.urkejov.orderservice.dto.OrderItemsDto;
+import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places single orders from many concurrent callers, committing each order in its own
+ * transaction or through the group-commit writer. Throughput and the latency percentiles
+ * of sample mode are the numbers to compare; run against MySQL (see
+ * application-benchmark.properties) to include the per-commit log flush.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderCommitBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class OrderCommitBenchmark {
+
+	@Param({"false", "true"})
+	private boolean groupCommit;
+
+	private InventoryStub inventoryStub;
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private OrderRequest orderRequest;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		inventoryStub = new InventoryStub();
+		inventoryStub.setAvailableQuantity(Integer.MAX_VALUE);
+		context = new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run("--inventory.client.base-url=" + inventoryStub.baseUrl(),
+						"--order.placement.group-commit.enabled=" + groupCommit);
+		orderService = context.getBean(OrderService.class);
+		orderRequest = new OrderRequest(List.of(
+				OrderItemsDto.builder().skuCode("ThinkPad 15").price(BigDecimal.valueOf(1200)).quantity(1).build(),
+				OrderItemsDto.builder().skuCode("Lenovo Legion").price(BigDecimal.valueOf(1800)).quantity(2).build()));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		inventoryStub.close();
+	}
+
+	@Benchmark
+	public String placeOrder() {
+		return orderService.placeOrderAsync(orderRequest).join();
+	}
+}
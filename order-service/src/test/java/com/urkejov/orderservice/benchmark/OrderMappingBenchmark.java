@@ -0,0 +1,78 @@
+package com.urkejov.orderservice.benchmark;
+
+import com.urkejov.orderservice.dto.OrderItemsDto;
+import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.model.Order;
+import com.urkejov.orderservice.service.OrderFactory;
+import com.urkejov.orderservice.service.TimeOrderedOrderNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-only part of placing an order: mapping the request to entities and working out
+ * which stock it needs, for carts of different sizes.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderMappingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+	@Param({"1", "10", "100"})
+	private int lines;
+
+	private final OrderFactory orderFactory = new OrderFactory(new TimeOrderedOrderNumberGenerator());
+	private OrderRequest orderRequest;
+	private Order order;
+	private Map<String, Integer> requestedQuantities;
+	private Map<String, Integer> availableQuantities;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		List<OrderItemsDto> orderItems = new ArrayList<>(lines);
+		availableQuantities = new HashMap<>();
+		for (int i = 0; i < lines; i++) {
+			// Every third line repeats a SKU, as carts with the same product twice do.
+			String skuCode = "SKU-" + (i - i / 3);
+			orderItems.add(OrderItemsDto.builder().skuCode(skuCode).price(BigDecimal.valueOf(100 + i)).quantity(1 + i % 4).build());
+			availableQuantities.put(skuCode, 1_000);
+		}
+		orderRequest = new OrderRequest(orderItems);
+		order = orderFactory.buildOrder(orderRequest);
+		requestedQuantities = orderFactory.requestedQuantities(List.of(order));
+	}
+
+	@Benchmark
+	public Order buildOrder() {
+		return orderFactory.buildOrder(orderRequest);
+	}
+
+	@Benchmark
+	public Map<String, Integer> requestedQuantities() {
+		return orderFactory.requestedQuantities(List.of(order));
+	}
+
+	@Benchmark
+	public boolean isAllAvailable() {
+		return orderFactory.isAllAvailable(requestedQuantities, availableQuantities);
+	}
+
+	/**
+	 * Everything {@code placeOrder} does before and after the inventory round trip.
+	 */
+	@Benchmark
+	public boolean placementLogic() {
+		Order built = orderFactory.buildOrder(orderRequest);
+		return orderFactory.isAllAvailable(orderFactory.requestedQuantities(List.of(built)), availableQuantities);
+	}
+}
@@ -0,0 +1,36 @@
+package com.urkejov.orderservice.benchmark;
+
+import com.urkejov.orderservice.service.OrderNumberGenerator;
+import com.urkejov.orderservice.service.RandomUuidOrderNumberGenerator;
+import com.urkejov.orderservice.service.TimeOrderedOrderNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order number generation throughput under contention.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderNumberBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class OrderNumberBenchmark {
+
+	private final OrderNumberGenerator randomUuid = new RandomUuidOrderNumberGenerator();
+	private final OrderNumberGenerator timeOrdered = new TimeOrderedOrderNumberGenerator();
+
+	@Benchmark
+	public String randomUuid() {
+		return randomUuid.nextOrderNumber();
+	}
+
+	@Benchmark
+	public String timeOrdered() {
+		return timeOrdered.nextOrderNumber();
+	}
+}
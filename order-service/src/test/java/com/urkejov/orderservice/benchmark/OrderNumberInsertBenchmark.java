@@ -0,0 +1,73 @@
+package com.urkejov.orderservice.benchmark;
+
+import com.urkejov.orderservice.OrderServiceApplication;
+import com.urkejov.orderservice.model.Order;
+import com.urkejov.orderservice.repository.OrderRepository;
+import com.urkejov.orderservice.service.OrderNumberGenerator;
+import com.urkejov.orderservice.service.RandomUuidOrderNumberGenerator;
+import com.urkejov.orderservice.service.TimeOrderedOrderNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert rate into {@code orders} with each order number layout. The table grows over the
+ * run, so later iterations show how the unique {@code order_number} index copes.
+ * Run against MySQL with {@code -Dspring.datasource.url=...} for InnoDB numbers.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderNumberInsertBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderNumberInsertBenchmark {
+
+	private static final int ORDERS_PER_INVOCATION = 1000;
+
+	@Param({"random-uuid", "time-ordered"})
+	private String generator;
+
+	private ConfigurableApplicationContext context;
+	private OrderRepository orderRepository;
+	private OrderNumberGenerator orderNumberGenerator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		orderRepository = context.getBean(OrderRepository.class);
+		orderNumberGenerator = generator.equals("random-uuid")
+				? new RandomUuidOrderNumberGenerator()
+				: new TimeOrderedOrderNumberGenerator();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ORDERS_PER_INVOCATION)
+	public void insertOrders() {
+		List<Order> orders = new ArrayList<>(ORDERS_PER_INVOCATION);
+		for (int i = 0; i < ORDERS_PER_INVOCATION; i++) {
+			orders.add(Order.builder()
+					.orderNumber(orderNumberGenerator.nextOrderNumber())
+					.orderItemsList(List.of())
+					.createdAt(LocalDateTime.now())
+					.build());
+		}
+		orderRepository.persistAll(orders);
+	}
+}
@@ -0,0 +1,73 @@
+package com.urkejov.orderservice.benchmark;
+
+import com.urkejov.orderservice.OrderServiceApplication;
+import com.urkejov.orderservice.client.InventoryStub;
+import com.urkejov.orderservice.dto.OrderItemsDto;
+import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submits the same set of orders through the batch path and one at a time.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OrderSubmissionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderSubmissionBenchmark {
+
+	@Param({"1000"})
+	private int orders;
+
+	private InventoryStub inventoryStub;
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private List<OrderRequest> orderRequests;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		inventoryStub = new InventoryStub();
+		inventoryStub.setAvailableQuantity(Integer.MAX_VALUE);
+		context = new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run("--inventory.client.base-url=" + inventoryStub.baseUrl());
+		orderService = context.getBean(OrderService.class);
+		orderRequests = new ArrayList<>(orders);
+		for (int i = 0; i < orders; i++) {
+			orderRequests.add(new OrderRequest(List.of(
+					OrderItemsDto.builder().skuCode("ThinkPad 15").price(BigDecimal.valueOf(1200)).quantity(1).build(),
+					OrderItemsDto.builder().skuCode("Lenovo Legion").price(BigDecimal.valueOf(1800)).quantity(2).build())));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		inventoryStub.close();
+	}
+
+	@Benchmark
+	public Object batch() {
+		return orderService.placeOrders(orderRequests).join();
+	}
+
+	@Benchmark
+	public void oneAtATime() {
+		for (OrderRequest orderRequest : orderRequests) {
+			orderService.placeOrderAsync(orderRequest).join();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.urkejov.orderservice.client;
+
+import com.urkejov.orderservice.config.InventoryClientProperties;
+import com.urkejov.orderservice.config.WebClientConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InventoryClientResilienceTests {
+
+	private final WebClientConfig webClientConfig = new WebClientConfig();
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private InventoryStub inventoryStub;
+	private InventoryClientProperties properties;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		inventoryStub = new InventoryStub();
+		properties = new InventoryClientProperties();
+		properties.setBaseUrl(inventoryStub.baseUrl());
+		properties.setBatchWindow(Duration.ZERO);
+		properties.setCacheTtl(Duration.ZERO);
+		properties.setResponseTimeout(Duration.ofMillis(200));
+	}
+
+	@AfterEach
+	void tearDown() {
+		inventoryStub.close();
+	}
+
+	@Test
+	void slowResponsesTimeOut() {
+		inventoryStub.setLatencyMillis(1000);
+		InventoryClient inventoryClient = newInventoryClient();
+
+		assertThatThrownBy(() -> inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5)))
+				.isInstanceOf(WebClientRequestException.class);
+	}
+
+	@Test
+	void openCircuitFailsFastWithoutCallingInventory() {
+		inventoryStub.setLatencyMillis(1000);
+		properties.getCircuitBreaker().setMinimumNumberOfCalls(5);
+		properties.getCircuitBreaker().setSlidingWindowSize(5);
+		CircuitBreaker circuitBreaker = webClientConfig.inventoryCircuitBreaker(properties, meterRegistry);
+		InventoryClient inventoryClient = newInventoryClient(circuitBreaker);
+
+		for (int i = 0; i < 5; i++) {
+			String skuCode = "sku-" + i;
+			assertThatThrownBy(() -> inventoryClient.getAvailableQuantities(Map.of(skuCode, 1)).block(Duration.ofSeconds(5)));
+		}
+		int requestsBeforeOpen = inventoryStub.requests();
+
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThatThrownBy(() -> inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5)))
+				.isInstanceOfSatisfying(ResponseStatusException.class, e ->
+						assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+		assertThat(inventoryStub.requests()).isEqualTo(requestsBeforeOpen);
+		assertThat(meterRegistry.get("resilience4j.circuitbreaker.state").tag("state", "open").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void fullBulkheadRejectsExcessCalls() {
+		inventoryStub.setLatencyMillis(150);
+		properties.getBulkhead().setMaxConcurrentCalls(1);
+		properties.setMaxBatchSize(1);
+		InventoryClient inventoryClient = newInventoryClient();
+
+		List<Throwable> errors = Flux.range(0, 4)
+				.flatMap(i -> inventoryClient.getAvailableQuantities(Map.of("sku-" + i, 1))
+						.then(Mono.<Throwable>empty())
+						.onErrorResume(Mono::just))
+				.collectList()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(errors).isNotEmpty().allSatisfy(error ->
+				assertThat(error).isInstanceOf(ResponseStatusException.class));
+	}
+
+	@Test
+	void hedgedRequestWinsOverSlowPrimary() {
+		inventoryStub.setLatencyMillis(1000);
+		inventoryStub.setSlowRequests(1);
+		properties.setResponseTimeout(Duration.ofSeconds(2));
+		properties.getHedge().setEnabled(true);
+		properties.getHedge().setDelay(Duration.ofMillis(50));
+		InventoryClient inventoryClient = newInventoryClient();
+
+		long start = System.nanoTime();
+		inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5));
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertThat(elapsed).isLessThan(Duration.ofMillis(800));
+		assertThat(inventoryStub.requests()).isEqualTo(2);
+		assertThat(meterRegistry.get("inventory.client.hedged.requests").counter().count()).isEqualTo(1);
+	}
+
+	private InventoryClient newInventoryClient() {
+		return newInventoryClient(webClientConfig.inventoryCircuitBreaker(properties, meterRegistry));
+	}
+
+	private InventoryClient newInventoryClient(CircuitBreaker circuitBreaker) {
+		WebClient webClient = webClientConfig.webClient(WebClient.builder(), properties);
+		Bulkhead bulkhead = webClientConfig.inventoryBulkhead(properties, meterRegistry);
+		return new InventoryClient(webClient, properties, circuitBreaker, bulkhead, meterRegistry, ObservationRegistry.NOOP);
+	}
+
+}
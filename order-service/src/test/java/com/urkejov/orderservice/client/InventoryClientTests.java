@@ -0,0 +1,164 @@
+package com.urkejov.orderservice.client;
+
+import com.urkejov.orderservice.config.InventoryClientProperties;
+import com.urkejov.orderservice.config.WebClientConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryClientTests {
+
+	private InventoryStub inventoryStub;
+	private InventoryClientProperties properties;
+	private MeterRegistry meterRegistry;
+	private ObservationRegistry observationRegistry;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		inventoryStub = new InventoryStub();
+		inventoryStub.setLatencyMillis(50);
+		properties = new InventoryClientProperties();
+		properties.setBaseUrl(inventoryStub.baseUrl());
+		properties.setBatchWindow(Duration.ofMillis(20));
+		meterRegistry = new SimpleMeterRegistry();
+		observationRegistry = ObservationRegistry.NOOP;
+	}
+
+	@AfterEach
+	void tearDown() {
+		inventoryStub.close();
+	}
+
+	@Test
+	void concurrentLookupsShareOneRequest() {
+		InventoryClient inventoryClient = newInventoryClient();
+
+		List<Map<String, Integer>> results = Flux.range(0, 200)
+				.flatMap(i -> inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1, i % 2 == 0 ? "Lenovo Legion" : "Dell XPS", 2)), 200)
+				.collectList()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(results).hasSize(200).allSatisfy(quantities ->
+				assertThat(quantities.values()).containsOnly(100));
+		assertThat(inventoryStub.requests()).isEqualTo(1);
+	}
+
+	@Test
+	void largeCartIsCheckedInOneSmileRequest() {
+		inventoryStub.setAvailableQuantity(3);
+		InventoryClient inventoryClient = newInventoryClient();
+		Map<String, Integer> cart = new LinkedHashMap<>();
+		for (int i = 0; i < 500; i++) {
+			cart.put("sku-" + i, i % 5 + 1);
+		}
+
+		Map<String, Integer> quantities = inventoryClient.getAvailableQuantities(cart).block(Duration.ofSeconds(5));
+
+		assertThat(quantities).hasSize(500).containsEntry("sku-499", 3);
+		assertThat(inventoryStub.requests()).isEqualTo(1);
+		assertThat(inventoryStub.lastItemCount()).isEqualTo(500);
+		assertThat(inventoryStub.lastContentType()).isEqualTo("application/x-jackson-smile");
+	}
+
+	@Test
+	void jsonEncodingCanBeSelected() {
+		properties.setEncoding(InventoryClientProperties.Encoding.JSON);
+		InventoryClient inventoryClient = newInventoryClient();
+
+		Map<String, Integer> quantities = inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5));
+
+		assertThat(quantities).containsEntry("ThinkPad 15", 100);
+		assertThat(inventoryStub.lastContentType()).isEqualTo("application/json");
+	}
+
+	@Test
+	void cachedAnswersAreReusedWithinTtl() {
+		InventoryClient inventoryClient = newInventoryClient();
+
+		inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5));
+		inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5));
+
+		assertThat(inventoryStub.requests()).isEqualTo(1);
+	}
+
+	@Test
+	void disabledCacheFetchesAgain() {
+		properties.setCacheTtl(Duration.ZERO);
+		InventoryClient inventoryClient = newInventoryClient();
+
+		Mono.when(inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1))).block(Duration.ofSeconds(5));
+		Mono.when(inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1))).block(Duration.ofSeconds(5));
+
+		assertThat(inventoryStub.requests()).isEqualTo(2);
+	}
+
+	@Test
+	void batchesAreTimedAndSized() {
+		InventoryClient inventoryClient = newInventoryClient();
+
+		inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1, "Dell XPS", 1)).block(Duration.ofSeconds(5));
+		inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5));
+
+		assertThat(meterRegistry.get("inventory.client.batch").tag("outcome", "success").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("inventory.client.batch.size").summary().totalAmount()).isEqualTo(2);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", "inventory.availability").tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("inventory.client.in.flight").gauge().value()).isZero();
+	}
+
+	@Test
+	void batchIsObservedAsChildOfTheRequestThatOpenedIt() {
+		ConcurrentLinkedQueue<ClientRequestObservationContext> clientRequests = new ConcurrentLinkedQueue<>();
+		observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+			@Override
+			public void onStart(Observation.Context context) {
+				if (context instanceof ClientRequestObservationContext clientRequest) {
+					clientRequests.add(clientRequest);
+				}
+			}
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+		InventoryClient inventoryClient = newInventoryClient();
+		Observation order = Observation.start("order", observationRegistry);
+
+		order.scoped(() -> inventoryClient.getAvailableQuantities(Map.of("ThinkPad 15", 1)).block(Duration.ofSeconds(5)));
+		order.stop();
+
+		assertThat(clientRequests).singleElement()
+				.satisfies(clientRequest -> assertThat(clientRequest.getParentObservation()).isSameAs(order));
+	}
+
+	private InventoryClient newInventoryClient() {
+		WebClient webClient = WebClient.builder()
+				.codecs(WebClientConfig::registerSmileCodecs)
+				.observationRegistry(observationRegistry)
+				.build();
+		return new InventoryClient(webClient, properties,
+				CircuitBreaker.ofDefaults("inventory"), Bulkhead.ofDefaults("inventory"), meterRegistry, observationRegistry);
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.urkejov.orderservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.urkejov.orderservice.dto.AvailabilityItem;
+import com.urkejov.orderservice.dto.AvailabilityRequest;
+import com.urkejov.orderservice.dto.AvailabilityResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal local stand-in for the inventory-service availability endpoint. Every SKU has
+ * the same available quantity, bodies are JSON or Smile as the request asks, and each
+ * response can be delayed to simulate a slow dependency.
+ */
+public class InventoryStub implements AutoCloseable {
+
+	static {
+		// Without TCP_NODELAY the JDK server adds a delayed-ACK stall to every response.
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final AtomicInteger requests = new AtomicInteger();
+	private final ObjectMapper json = new ObjectMapper();
+	private final ObjectMapper smile = new SmileMapper();
+	private volatile int availableQuantity = 100;
+	private volatile String lastContentType;
+	private volatile int lastItemCount;
+	private volatile long latencyMillis;
+	private volatile int slowRequests = Integer.MAX_VALUE;
+
+	public InventoryStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/api/inventory/availability", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	public String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	public int requests() {
+		return requests.get();
+	}
+
+	public String lastContentType() {
+		return lastContentType;
+	}
+
+	public int lastItemCount() {
+		return lastItemCount;
+	}
+
+	public void setAvailableQuantity(int availableQuantity) {
+		this.availableQuantity = availableQuantity;
+	}
+
+	public void setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	/**
+	 * Only the first {@code slowRequests} requests are delayed; later ones answer at once.
+	 */
+	public void setSlowRequests(int slowRequests) {
+		this.slowRequests = slowRequests;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int request = requests.incrementAndGet();
+		if (latencyMillis > 0 && request <= slowRequests) {
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		ObjectMapper mapper = contentType != null && contentType.contains("smile") ? smile : json;
+		AvailabilityRequest availabilityRequest;
+		try (InputStream inputStream = exchange.getRequestBody()) {
+			availabilityRequest = mapper.readValue(inputStream, AvailabilityRequest.class);
+		}
+		lastContentType = contentType;
+		lastItemCount = availabilityRequest.getItems().size();
+		List<AvailabilityResponse> responses = availabilityRequest.getItems().stream()
+				.map(this::answer)
+				.toList();
+		byte[] body = mapper.writeValueAsBytes(responses);
+		exchange.getResponseHeaders().add("Content-Type", contentType);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(body);
+		}
+	}
+
+	private AvailabilityResponse answer(AvailabilityItem item) {
+		return new AvailabilityResponse(item.getSkuCode(), item.getRequestedQuantity(), availableQuantity,
+				availableQuantity >= item.getRequestedQuantity());
+	}
+}
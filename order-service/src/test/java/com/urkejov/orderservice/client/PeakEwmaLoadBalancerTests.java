@@ -0,0 +1,109 @@
+package com.urkejov.orderservice.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaLoadBalancerTests {
+
+	private final ServiceInstance fast = new DefaultServiceInstance("fast", "inventory-service", "fast", 8082, false);
+
+	private final ServiceInstance slow = new DefaultServiceInstance("slow", "inventory-service", "slow", 8082, false);
+
+	private final PeakEwmaLoadBalancer loadBalancer = loadBalancer(fast, slow);
+
+	@Test
+	void prefersTheInstanceWithLowerLatency() {
+		succeed(fast, Duration.ofMillis(5));
+		succeed(slow, Duration.ofMillis(200));
+
+		Map<String, Integer> picks = pick(200);
+
+		assertThat(picks.get("fast")).isEqualTo(200);
+	}
+
+	@Test
+	void failuresArePenalised() {
+		succeed(fast, Duration.ofMillis(5));
+		exchange(slow, Mono.error(new IllegalStateException("connection refused"))).onErrorComplete().block();
+
+		assertThat(pick(100).get("fast")).isEqualTo(100);
+	}
+
+	@Test
+	void outstandingRequestsRaiseTheCost() {
+		succeed(fast, Duration.ofMillis(5));
+		succeed(slow, Duration.ofMillis(10));
+		for (int i = 0; i < 5; i++) {
+			exchange(fast, Mono.never()).subscribe();
+		}
+
+		assertThat(pick(100).get("slow")).isEqualTo(100);
+	}
+
+	@Test
+	void cancelledExchangeReleasesItsSlot() {
+		Disposable pending = exchange(fast, Mono.never()).subscribe();
+		assertThat(loadBalancer.inFlight(fast)).isEqualTo(1);
+
+		pending.dispose();
+
+		assertThat(loadBalancer.inFlight(fast)).isZero();
+	}
+
+	@Test
+	void returnsEmptyResponseWithoutInstances() {
+		Response<ServiceInstance> response = loadBalancer().choose(request()).block();
+
+		assertThat(response.hasServer()).isFalse();
+	}
+
+	private Map<String, Integer> pick(int times) {
+		Map<String, Integer> picks = new HashMap<>();
+		for (int i = 0; i < times; i++) {
+			Response<ServiceInstance> response = loadBalancer.choose(request()).block();
+			picks.merge(response.getServer().getInstanceId(), 1, Integer::sum);
+		}
+		return picks;
+	}
+
+	private void succeed(ServiceInstance instance, Duration latency) {
+		exchange(instance, Mono.delay(latency).thenReturn(ClientResponse.create(HttpStatus.OK).build())).block();
+	}
+
+	private Mono<ClientResponse> exchange(ServiceInstance instance, Mono<ClientResponse> response) {
+		URI uri = URI.create("http://" + instance.getHost() + ":" + instance.getPort() + "/api/inventory");
+		return loadBalancer.statsFilter().filter(ClientRequest.create(HttpMethod.GET, uri).build(), request -> response);
+	}
+
+	private static DefaultRequest<RequestDataContext> request() {
+		return new DefaultRequest<>(new RequestDataContext());
+	}
+
+	private static PeakEwmaLoadBalancer loadBalancer(ServiceInstance... instances) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("supplier", ServiceInstanceListSuppliers.from("inventory-service", instances));
+		return new PeakEwmaLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class),
+				"inventory-service", Duration.ofSeconds(10), Duration.ofSeconds(1));
+	}
+
+}
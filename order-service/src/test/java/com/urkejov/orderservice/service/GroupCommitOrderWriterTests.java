@@ -0,0 +1,84 @@
+package com.urkejov.orderservice.service;
+
+import com.urkejov.orderservice.model.IdempotencyKey;
+import com.urkejov.orderservice.model.Order;
+import com.urkejov.orderservice.model.OrderItems;
+import com.urkejov.orderservice.repository.IdempotencyKeyRepository;
+import com.urkejov.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+		properties = {"order.placement.group-commit.enabled=true", "order.placement.group-commit.max-delay=5ms"})
+@ActiveProfiles("benchmark")
+class GroupCommitOrderWriterTests {
+
+	@Autowired
+	private GroupCommitOrderWriter groupCommitOrderWriter;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void concurrentOrdersShareCommits() {
+		long orders = orderRepository.count();
+
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		List<String> orderNumbers = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Order order = newOrder();
+			orderNumbers.add(order.getOrderNumber());
+			futures.add(groupCommitOrderWriter.submit(order, null));
+		}
+
+		assertThat(futures).extracting(CompletableFuture::join).containsExactlyElementsOf(orderNumbers);
+		assertThat(orderRepository.count()).isEqualTo(orders + 1000);
+		assertThat(meterRegistry.get("order.group-commit.size").summary().max()).isGreaterThan(1);
+	}
+
+	@Test
+	void failingOrderDoesNotFailItsGroup() {
+		String key = UUID.randomUUID().toString();
+		idempotencyKeyRepository.save(new IdempotencyKey(key, "hash", "stored-order", LocalDateTime.now()));
+		long orders = orderRepository.count();
+
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			IdempotencyKey idempotencyKey = i == 10 ? new IdempotencyKey(key, "hash", null, LocalDateTime.now()) : null;
+			futures.add(groupCommitOrderWriter.submit(newOrder(), idempotencyKey));
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+		assertThatThrownBy(futures.get(10)::join).hasCauseInstanceOf(DataIntegrityViolationException.class);
+		assertThat(futures).filteredOn(future -> !future.isCompletedExceptionally()).hasSize(19);
+		assertThat(orderRepository.count()).isEqualTo(orders + 19);
+	}
+
+	private static Order newOrder() {
+		Order order = new Order();
+		order.setOrderNumber(UUID.randomUUID().toString());
+		OrderItems orderItems = OrderItems.builder().skuCode("ThinkPad 15").price(BigDecimal.valueOf(1200)).quantity(1).order(order).build();
+		order.setOrderItemsList(List.of(orderItems));
+		return order;
+	}
+}
@@ -0,0 +1,188 @@
+package com.urkejov.orderservice.service;
+
+import com.urkejov.orderservice.client.InventoryStub;
+import com.urkejov.orderservice.config.OrderPlacementProperties;
+import com.urkejov.orderservice.dto.OrderItemsDto;
+import com.urkejov.orderservice.dto.OrderRequest;
+import com.urkejov.orderservice.model.IdempotencyKey;
+import com.urkejov.orderservice.repository.IdempotencyKeyRepository;
+import com.urkejov.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("benchmark")
+class OrderIdempotencyServiceTests {
+
+	private static final InventoryStub inventoryStub = newInventoryStub();
+
+	@Autowired
+	private OrderIdempotencyService orderIdempotencyService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	private OrderPlacementProperties orderPlacementProperties;
+
+	@DynamicPropertySource
+	static void inventory(DynamicPropertyRegistry registry) {
+		registry.add("inventory.client.base-url", inventoryStub::baseUrl);
+	}
+
+	@AfterAll
+	static void closeInventory() {
+		inventoryStub.close();
+	}
+
+	@BeforeEach
+	void setUp() {
+		inventoryStub.setAvailableQuantity(100);
+		inventoryStub.setLatencyMillis(0);
+	}
+
+	@AfterEach
+	void restoreMode() {
+		orderPlacementProperties.setMode(OrderPlacementProperties.Mode.NON_BLOCKING);
+	}
+
+	@Test
+	void repeatedKeyReturnsTheOriginalOrder() {
+		String key = UUID.randomUUID().toString();
+		long orders = orderRepository.count();
+
+		OrderIdempotencyService.Result first = place(key, orderRequest(1)).join();
+		int inventoryRequests = inventoryStub.requests();
+		OrderIdempotencyService.Result second = place(key, orderRequest(1)).join();
+
+		assertThat(first.replayed()).isFalse();
+		assertThat(second.replayed()).isTrue();
+		assertThat(second.orderNumber()).isEqualTo(first.orderNumber());
+		assertThat(inventoryStub.requests()).isEqualTo(inventoryRequests);
+		assertThat(orderRepository.count()).isEqualTo(orders + 1);
+		assertThat(idempotencyKeyRepository.findById(key)).get()
+				.extracting(IdempotencyKey::getOrderNumber).isEqualTo(first.orderNumber());
+	}
+
+	@Test
+	void concurrentDuplicatesWaitForTheFirstRequest() {
+		inventoryStub.setLatencyMillis(200);
+		String key = UUID.randomUUID().toString();
+		long orders = orderRepository.count();
+		int inventoryRequests = inventoryStub.requests();
+
+		List<CompletableFuture<OrderIdempotencyService.Result>> results = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			results.add(place(key, orderRequest(1)));
+		}
+
+		assertThat(results).extracting(CompletableFuture::join)
+				.extracting(OrderIdempotencyService.Result::orderNumber)
+				.containsOnly(results.get(0).join().orderNumber());
+		assertThat(results).extracting(result -> result.join().replayed())
+				.containsOnlyOnce(false);
+		assertThat(inventoryStub.requests()).isEqualTo(inventoryRequests + 1);
+		assertThat(orderRepository.count()).isEqualTo(orders + 1);
+	}
+
+	@Test
+	void storedKeyIsReplayedWithoutPlacingAgain() {
+		String key = UUID.randomUUID().toString();
+		OrderRequest orderRequest = orderRequest(1);
+		place(key, orderRequest).join();
+		String storedHash = idempotencyKeyRepository.findById(key).orElseThrow().getRequestHash();
+		// A key this instance has never seen, as if another instance had placed the order.
+		String otherKey = UUID.randomUUID().toString();
+		idempotencyKeyRepository.save(new IdempotencyKey(otherKey, storedHash, "stored-order", LocalDateTime.now()));
+		long orders = orderRepository.count();
+		int inventoryRequests = inventoryStub.requests();
+
+		OrderIdempotencyService.Result result = place(otherKey, orderRequest).join();
+
+		assertThat(result).isEqualTo(new OrderIdempotencyService.Result("stored-order", true));
+		assertThat(inventoryStub.requests()).isEqualTo(inventoryRequests);
+		assertThat(orderRepository.count()).isEqualTo(orders);
+	}
+
+	@Test
+	void keyReusedForDifferentOrderIsRejected() {
+		String key = UUID.randomUUID().toString();
+		place(key, orderRequest(1)).join();
+
+		assertThatThrownBy(() -> place(key, orderRequest(2)).join())
+				.hasCauseInstanceOf(IdempotencyKeyMismatchException.class);
+	}
+
+	@Test
+	void failedPlacementCanBeRetriedWithTheSameKey() {
+		String key = UUID.randomUUID().toString();
+		inventoryStub.setAvailableQuantity(0);
+		assertThatThrownBy(() -> place(key, orderRequest(1)).join())
+				.hasCauseInstanceOf(IllegalArgumentException.class);
+		assertThat(idempotencyKeyRepository.existsById(key)).isFalse();
+
+		inventoryStub.setAvailableQuantity(100);
+		OrderIdempotencyService.Result result = place(key, orderRequest(1)).join();
+
+		assertThat(result.replayed()).isFalse();
+		assertThat(idempotencyKeyRepository.existsById(key)).isTrue();
+	}
+
+	@Test
+	void blockingPlacementRunsOnTheCallerThread() {
+		orderPlacementProperties.setMode(OrderPlacementProperties.Mode.BLOCKING);
+		AtomicReference<Thread> placedOn = new AtomicReference<>();
+
+		OrderIdempotencyService.Result result = orderIdempotencyService.placeOnce(UUID.randomUUID().toString(), orderRequest(1),
+				(orderRequest, idempotencyKey) -> {
+					placedOn.set(Thread.currentThread());
+					return CompletableFuture.completedFuture(orderService.placeOrder(orderRequest, idempotencyKey));
+				}).join();
+
+		assertThat(result.replayed()).isFalse();
+		assertThat(placedOn.get()).isSameAs(Thread.currentThread());
+	}
+
+	private CompletableFuture<OrderIdempotencyService.Result> place(String key, OrderRequest orderRequest) {
+		return orderIdempotencyService.placeOnce(key, orderRequest, orderService::placeOrderAsync);
+	}
+
+	private static OrderRequest orderRequest(int quantity) {
+		return new OrderRequest(List.of(
+				OrderItemsDto.builder().skuCode("ThinkPad 15").price(BigDecimal.valueOf(1200)).quantity(quantity).build()));
+	}
+
+	private static InventoryStub newInventoryStub() {
+		try {
+			return new InventoryStub();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.urkejov.orderservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedOrderNumberGeneratorTests {
+
+	private final TimeOrderedOrderNumberGenerator generator = new TimeOrderedOrderNumberGenerator();
+
+	@Test
+	void numbersAreVersion7AndIncreasingWithinAThread() {
+		List<UUID> numbers = new ArrayList<>();
+		for (int i = 0; i < 50_000; i++) {
+			numbers.add(generator.next());
+		}
+
+		assertThat(numbers).allSatisfy(number -> {
+			assertThat(number.version()).isEqualTo(7);
+			assertThat(number.variant()).isEqualTo(2);
+		});
+		for (int i = 1; i < numbers.size(); i++) {
+			assertThat(numbers.get(i).toString()).isGreaterThan(numbers.get(i - 1).toString());
+		}
+	}
+
+	@Test
+	void numbersAreUniqueAcrossThreads() throws InterruptedException {
+		Set<String> numbers = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int thread = 0; thread < 8; thread++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 25_000; i++) {
+					numbers.add(generator.nextOrderNumber());
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(numbers).hasSize(200_000);
+	}
+
+}
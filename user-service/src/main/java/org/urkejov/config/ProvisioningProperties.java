@@ -0,0 +1,49 @@
+package org.urkejov.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user.provisioning")
+public class ProvisioningProperties {
+
+    /**
+     * Threads sending batches to the identity provider.
+     */
+    private int workers = 4;
+
+    /**
+     * Outbox rows sent to the identity provider together.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Pause between two polls of the outbox, in milliseconds.
+     */
+    private long pollIntervalMs = 500;
+
+    /**
+     * How long a claimed row stays hidden from other pollers; a row whose worker died is
+     * picked up again after this.
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * Attempts before a row is parked for manual follow-up.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Delay before the first retry; it doubles with every further attempt.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * BCrypt cost of the password hash stored in the outbox.
+     */
+    private int passwordHashStrength = 10;
+}
@@ -0,0 +1,26 @@
+package org.urkejov.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user.role-cache")
+public class RoleCacheProperties {
+
+    /**
+     * Whether resolved roles are cached per token instead of read from the claim on every check.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Tokens whose resolved roles are kept.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long resolved roles are kept; the longest lifetime the issuer gives a token.
+     */
+    private Duration tokenLifetime = Duration.ofHours(1);
+}
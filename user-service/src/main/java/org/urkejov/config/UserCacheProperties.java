@@ -0,0 +1,27 @@
+package org.urkejov.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user.cache")
+public class UserCacheProperties {
+
+    /**
+     * Maximum number of users, and separately of emails, kept in the cache.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Safety net for writes that bypass this instance, e.g. another instance or manual SQL.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * How long an email is remembered as unused. Kept short, since a user created through
+     * another instance is only seen once this runs out.
+     */
+    private Duration missingEmailTtl = Duration.ofSeconds(30);
+}
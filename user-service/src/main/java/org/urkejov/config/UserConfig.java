@@ -0,0 +1,24 @@
+package org.urkejov.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({UserCacheProperties.class, UserExportProperties.class, UserImportProperties.class,
+        RoleCacheProperties.class, ProvisioningProperties.class})
+public class UserConfig {
+
+    /**
+     * Hashes passwords before they are written to the provisioning outbox; the identity
+     * provider imports the BCrypt hash as is.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(ProvisioningProperties provisioningProperties) {
+        return new BCryptPasswordEncoder(provisioningProperties.getPasswordHashStrength());
+    }
+}
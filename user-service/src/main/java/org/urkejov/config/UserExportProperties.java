@@ -0,0 +1,19 @@
+package org.urkejov.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "user.export")
+public class UserExportProperties {
+
+    /**
+     * Rows the JDBC driver fetches per round trip while streaming.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Rows written between two persistence context clears and output flushes.
+     */
+    private int clearInterval = 1000;
+}
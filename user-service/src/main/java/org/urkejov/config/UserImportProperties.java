@@ -0,0 +1,20 @@
+package org.urkejov.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "user.import")
+public class UserImportProperties {
+
+    /**
+     * Rows deduplicated, provisioned and inserted together; at most 1000, the most the
+     * identity provider creates in one call.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Threads hashing plain passwords with BCrypt, shared by all running imports.
+     */
+    private int hashThreads = Runtime.getRuntime().availableProcessors();
+}
@@ -1,18 +1,24 @@
 package org.urkejov.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.urkejov.dto.request.UserImportRequest;
 import org.urkejov.dto.request.UserRequest;
+import org.urkejov.security.RoleAuthorizer;
+import org.urkejov.service.UserExportService;
+import org.urkejov.service.UserImportService;
 import org.urkejov.service.UserService;
-import org.urkejov.tools.RoleTools;
 import org.urkejov.tools.enums.UserRoleEnum;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +27,18 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int READ_WRITE_ROLES = RoleAuthorizer.mask(UserRoleEnum.ADMIN, UserRoleEnum.USER);
+
+    private static final int ADMIN_ROLES = RoleAuthorizer.mask(UserRoleEnum.ADMIN);
+
     private final UserService userService;
 
+    private final RoleAuthorizer roleAuthorizer;
+
+    private final UserExportService userExportService;
+
+    private final UserImportService userImportService;
+
 
     /**
      * Fetch a user by their unique ID, only if the authenticated user has the appropriate role.
@@ -33,10 +49,7 @@ public class UserController {
      */
     @GetMapping("/{userId}")
     public ResponseEntity<?> getUser(@PathVariable String userId, @AuthenticationPrincipal Jwt jwt) {
-        if (RoleTools.hasAccess(jwt, new ArrayList<>(List.of(
-                UserRoleEnum.ADMIN.name(),
-                UserRoleEnum.USER.name()
-        )))) {
+        if (!roleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES)) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         return userService.getUser(userId);
@@ -44,11 +57,14 @@ public class UserController {
 
     /**
      * Fetch all users, with optional pagination and sorting, only if the authenticated user has the appropriate role.
+     * Passing {@code cursor} (empty for the first page) switches to keyset pagination, newest first;
+     * {@code sortBy} and {@code page} are then ignored.
      *
-     * @param size  The number of users to fetch per page (optional).
+     * @param size   The number of users to fetch per page (optional).
      * @param sortBy The field to sort the results by (optional).
-     * @param page  The page number to fetch (optional).
-     * @param jwt   The JWT token containing user authentication details.
+     * @param page   The page number to fetch (optional).
+     * @param cursor The nextCursor of the previous page, for keyset pagination (optional).
+     * @param jwt    The JWT token containing user authentication details.
      * @return ResponseEntity containing a list of users or an error message if unauthorized.
      */
     @GetMapping()
@@ -56,16 +72,40 @@ public class UserController {
             @RequestParam Optional<Integer> size,
             @RequestParam Optional<String> sortBy,
             @RequestParam Optional<Integer> page,
+            @RequestParam(required = false) String cursor,
             @AuthenticationPrincipal Jwt jwt) {
-        if (RoleTools.hasAccess(jwt, new ArrayList<>(List.of(
-                UserRoleEnum.ADMIN.name(),
-                UserRoleEnum.USER.name()
-        )))) {
+        if (!roleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES)) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
+        if (cursor != null) {
+            return userService.getAllUsersAfter(size, cursor);
+        }
         return userService.getAllUsers(size, sortBy, page);
     }
 
+    /**
+     * Stream every user as NDJSON or CSV, only if the authenticated user has the appropriate role.
+     * Rows are written to the response as they are read, so the export runs in constant memory.
+     *
+     * @param format   The output format, NDJSON (default) or CSV.
+     * @param jwt      The JWT token containing user authentication details.
+     * @param response The response the export is written to.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "NDJSON") UserExportService.Format format,
+                       @AuthenticationPrincipal Jwt jwt,
+                       HttpServletResponse response) throws IOException {
+        if (!roleAuthorizer.hasAnyRole(jwt, ADMIN_ROLES)) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        response.setContentType(format == UserExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + format.name().toLowerCase() + "\"");
+        userExportService.export(response.getOutputStream(), format);
+    }
+
     /**
      * Create a new user, only if the authenticated user has the appropriate role.
      *
@@ -76,15 +116,28 @@ public class UserController {
      */
     @PostMapping()
     public ResponseEntity<?> create(@RequestBody UserRequest userRequest, BindingResult bindingResult, @AuthenticationPrincipal Jwt jwt) {
-        if (RoleTools.hasAccess(jwt, new ArrayList<>(List.of(
-                UserRoleEnum.ADMIN.name(),
-                UserRoleEnum.USER.name()
-        )))) {
+        if (!roleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES)) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         return userService.create(bindingResult, userRequest, jwt);
     }
 
+    /**
+     * Create many users at once, only if the authenticated user has the appropriate role.
+     * Every row gets its own result; rows that were not created can be sent again.
+     *
+     * @param users The users to create; each may carry a BCrypt passwordHash instead of a password.
+     * @param jwt   The JWT token containing user authentication details.
+     * @return ResponseEntity containing the per-row results and throughput, or an error message if unauthorized.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importUsers(@RequestBody List<UserImportRequest> users, @AuthenticationPrincipal Jwt jwt) {
+        if (!roleAuthorizer.hasAnyRole(jwt, ADMIN_ROLES)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return new ResponseEntity<>(userImportService.importUsers(users), HttpStatus.OK);
+    }
+
     /**
      * Update an existing user by their unique ID, only if the authenticated user has the appropriate role.
      *
@@ -95,10 +148,7 @@ public class UserController {
      */
     @PutMapping("{userId}")
     public ResponseEntity<?> update(@PathVariable String userId, @RequestBody UserRequest userRequest, @AuthenticationPrincipal Jwt jwt) {
-        if (RoleTools.hasAccess(jwt, new ArrayList<>(List.of(
-                UserRoleEnum.ADMIN.name(),
-                UserRoleEnum.USER.name()
-        )))) {
+        if (!roleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES)) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
         return userService.update(userId, userRequest);
@@ -0,0 +1,21 @@
+package org.urkejov.dto.request;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One user of a bulk import. Users migrated from another system can bring their
+ * password as a BCrypt {@code passwordHash} instead of a {@code password}, which also
+ * saves hashing it during the import.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class UserImportRequest extends UserRequest {
+
+    @ToString.Exclude
+    private String passwordHash;
+}
@@ -0,0 +1,23 @@
+package org.urkejov.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+    private int rowsRead;
+    private int rowsCreated;
+    private int rowsRejected;
+    private int rowsFailed;
+    private int batches;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<UserImportResult> results;
+}
@@ -0,0 +1,28 @@
+package org.urkejov.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE, ALREADY_EXISTS, FAILED
+    }
+
+    /**
+     * Position of the row in the request, starting at 0.
+     */
+    private int index;
+    private String email;
+    private Status status;
+    private String userId;
+    private String error;
+}
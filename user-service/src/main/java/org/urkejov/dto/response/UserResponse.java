@@ -42,6 +42,9 @@ public class UserResponse {
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private List<UserResponse> data = new ArrayList<>();
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public void addInfo(String info) {
         if (this.info == null) {
             this.info = new ArrayList<>();
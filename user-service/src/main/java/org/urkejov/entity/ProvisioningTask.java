@@ -0,0 +1,62 @@
+package org.urkejov.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row asking for a user's identity provider account, written in the same
+ * transaction as the {@link User}. {@code availableAt} is when the row may next be
+ * claimed; it is {@code null} once the row has used up its attempts.
+ */
+@Entity
+@Table(name = "user_provisioning_outbox", indexes = {
+        @Index(name = "idx_user_provisioning_outbox_available_at", columnList = "available_at, id")
+})
+@Getter
+@Setter
+@Builder
+@ToString(exclude = "passwordHash")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisioningTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "display_name")
+    private String displayName;
+
+    @Column(name = "disabled", nullable = false)
+    private boolean disabled;
+
+    @Column(name = "password_hash", nullable = false)
+    private String passwordHash;
+
+    /**
+     * Comma separated values of the {@code roles} claim.
+     */
+    @Column(name = "roles", nullable = false)
+    private String roles;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at")
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
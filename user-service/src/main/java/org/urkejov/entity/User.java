@@ -3,15 +3,21 @@ package org.urkejov.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.Hibernate;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.urkejov.tools.enums.UserRoleEnum;
 import org.urkejov.tools.enums.UserStatusEnum;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_at_id", columnList = "created_at desc, id desc"),
+        @Index(name = "idx_users_username", columnList = "username"),
+        @Index(name = "idx_users_email", columnList = "email")
+})
 @Getter
 @Setter
 @Builder
@@ -20,11 +26,14 @@ import java.util.Objects;
 @AllArgsConstructor
 public class User {
 
+    /**
+     * Time-ordered, stored as {@code BINARY(16)}; the API shows its usual text form.
+     */
     @Id
-    @GeneratedValue(generator = "system-uuid")
-    @GenericGenerator(name = "system-uuid", strategy = "uuid2")
-    @Column(name = "id", nullable = false)
-    private String id;
+    @GeneratedUuidV7
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id", nullable = false, length = 16)
+    private UUID id;
 
     @Column(name = "first_name")
     private String firstName;
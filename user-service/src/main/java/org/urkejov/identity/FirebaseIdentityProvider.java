@@ -0,0 +1,108 @@
+package org.urkejov.identity;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.*;
+import com.google.firebase.auth.hash.Bcrypt;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * {@link IdentityProvider} backed by Firebase Authentication. Lookups go through
+ * {@code getUsers} (100 identifiers per call) and accounts are created with
+ * {@code importUsers} (1000 per call), which takes the BCrypt hash and the custom claims
+ * in the same request.
+ * <p>
+ * The Firebase app is initialized once, when the bean is created, so no caller ever
+ * waits on it.
+ */
+@Component
+@ConditionalOnProperty(name = "user.identity-provider", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseIdentityProvider implements IdentityProvider {
+
+    private static final int MAX_LOOKUP_BATCH = 100;
+    private static final int MAX_IMPORT_BATCH = 1000;
+
+    private final FirebaseAuth auth;
+
+    public FirebaseIdentityProvider() {
+        // Application default credentials (GOOGLE_APPLICATION_CREDENTIALS), read on first use.
+        FirebaseApp app = FirebaseApp.getApps().isEmpty() ? FirebaseApp.initializeApp() : FirebaseApp.getInstance();
+        this.auth = FirebaseAuth.getInstance(app);
+    }
+
+    @Override
+    public Map<String, String> findUidsByEmail(Collection<String> emails) {
+        Map<String, String> uids = new HashMap<>();
+        List<UserIdentifier> identifiers = new ArrayList<>(MAX_LOOKUP_BATCH);
+        for (String email : emails) {
+            identifiers.add(new EmailIdentifier(email));
+            if (identifiers.size() == MAX_LOOKUP_BATCH) {
+                lookup(identifiers, uids);
+                identifiers.clear();
+            }
+        }
+        if (!identifiers.isEmpty()) {
+            lookup(identifiers, uids);
+        }
+        return uids;
+    }
+
+    @Override
+    public Map<String, String> createUsers(List<IdentityUser> users) {
+        Map<String, String> errors = new HashMap<>();
+        for (int from = 0; from < users.size(); from += MAX_IMPORT_BATCH) {
+            List<IdentityUser> chunk = users.subList(from, Math.min(from + MAX_IMPORT_BATCH, users.size()));
+            List<ImportUserRecord> records = chunk.stream()
+                    .map(FirebaseIdentityProvider::toImportRecord)
+                    .toList();
+            try {
+                UserImportResult result = auth.importUsers(records, UserImportOptions.withHash(Bcrypt.getInstance()));
+                for (ErrorInfo error : result.getErrors()) {
+                    errors.put(chunk.get(error.getIndex()).uid(), error.getReason());
+                }
+            } catch (FirebaseAuthException e) {
+                throw failure("importUsers", e);
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public void setRoles(String uid, List<String> roles) {
+        try {
+            auth.setCustomUserClaims(uid, Map.of("roles", roles));
+        } catch (FirebaseAuthException e) {
+            throw failure("setCustomUserClaims", e);
+        }
+    }
+
+    private void lookup(List<UserIdentifier> identifiers, Map<String, String> uids) {
+        try {
+            for (UserRecord user : auth.getUsers(identifiers).getUsers()) {
+                uids.put(user.getEmail(), user.getUid());
+            }
+        } catch (FirebaseAuthException e) {
+            throw failure("getUsers", e);
+        }
+    }
+
+    private static ImportUserRecord toImportRecord(IdentityUser user) {
+        return ImportUserRecord.builder()
+                .setUid(user.uid())
+                .setEmail(user.email())
+                .setEmailVerified(true)
+                .setDisplayName(user.displayName())
+                .setDisabled(user.disabled())
+                .setPasswordHash(user.passwordHash().getBytes(StandardCharsets.UTF_8))
+                .putCustomClaim("roles", user.roles())
+                .build();
+    }
+
+    private static IdentityProviderException failure(String call, FirebaseAuthException e) {
+        return new IdentityProviderException("Firebase " + call + " failed :: " + e.getMessage()
+                + " :: code name :: " + e.getAuthErrorCode(), e);
+    }
+}
@@ -0,0 +1,30 @@
+package org.urkejov.identity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The external service that holds user accounts and issues their tokens. Every method
+ * takes a whole batch so implementations can use the provider's bulk endpoints.
+ */
+public interface IdentityProvider {
+
+    /**
+     * @return the account ID of each email that already has an account; emails without
+     * one are left out
+     */
+    Map<String, String> findUidsByEmail(Collection<String> emails);
+
+    /**
+     * Creates the given accounts with their {@code roles} claim.
+     *
+     * @return the reason each account that could not be created failed, by uid
+     */
+    Map<String, String> createUsers(List<IdentityUser> users);
+
+    /**
+     * Replaces the {@code roles} claim of an existing account.
+     */
+    void setRoles(String uid, List<String> roles);
+}
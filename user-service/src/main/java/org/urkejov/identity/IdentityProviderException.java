@@ -0,0 +1,12 @@
+package org.urkejov.identity;
+
+/**
+ * A call to the identity provider failed as a whole, e.g. it was unreachable or rejected
+ * the credentials of this service. Callers should retry later.
+ */
+public class IdentityProviderException extends RuntimeException {
+
+    public IdentityProviderException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package org.urkejov.identity;
+
+import java.util.List;
+
+/**
+ * An account to create at the identity provider.
+ *
+ * @param uid          the account ID to create it under
+ * @param passwordHash the password as a BCrypt hash, never in clear text
+ * @param roles        the value of the {@code roles} custom claim
+ */
+public record IdentityUser(String uid,
+                           String email,
+                           String displayName,
+                           boolean disabled,
+                           String passwordHash,
+                           List<String> roles) {
+}
@@ -0,0 +1,81 @@
+package org.urkejov.identity;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link IdentityProvider} that keeps accounts in memory, for tests and load runs. Each
+ * call sleeps for {@code user.identity-provider.latency} (zero by default) to stand in
+ * for the round trip to the real provider.
+ */
+@Component
+@ConditionalOnProperty(name = "user.identity-provider", havingValue = "in-memory")
+public class InMemoryIdentityProvider implements IdentityProvider {
+
+    private final Duration latency;
+    private final ConcurrentMap<String, IdentityUser> usersByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<String>> rolesByUid = new ConcurrentHashMap<>();
+
+    public InMemoryIdentityProvider(@Value("${user.identity-provider.latency:0ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Map<String, String> findUidsByEmail(Collection<String> emails) {
+        roundTrip();
+        Map<String, String> uids = new HashMap<>();
+        for (String email : emails) {
+            IdentityUser user = usersByEmail.get(email);
+            if (user != null) {
+                uids.put(email, user.uid());
+            }
+        }
+        return uids;
+    }
+
+    @Override
+    public Map<String, String> createUsers(List<IdentityUser> users) {
+        roundTrip();
+        Map<String, String> errors = new HashMap<>();
+        for (IdentityUser user : users) {
+            if (usersByEmail.putIfAbsent(user.email(), user) != null) {
+                errors.put(user.uid(), "EMAIL_EXISTS");
+            } else {
+                rolesByUid.put(user.uid(), List.copyOf(user.roles()));
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public void setRoles(String uid, List<String> roles) {
+        roundTrip();
+        rolesByUid.put(uid, List.copyOf(roles));
+    }
+
+    public Optional<IdentityUser> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(email));
+    }
+
+    public List<String> getRoles(String uid) {
+        return rolesByUid.getOrDefault(uid, List.of());
+    }
+
+    private void roundTrip() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityProviderException("Interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.urkejov.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+import org.urkejov.entity.ProvisioningTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProvisioningTaskRepository extends JpaRepository<ProvisioningTask, Long> {
+
+    /**
+     * Due rows, oldest first, locked {@code FOR UPDATE SKIP LOCKED} so concurrent pollers
+     * on this or other instances each get different rows instead of waiting.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("select t from ProvisioningTask t where t.availableAt <= ?1 order by t.availableAt, t.id")
+    List<ProvisioningTask> findDueForUpdate(LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("update ProvisioningTask t set t.availableAt = ?2 where t.id in ?1")
+    int lease(List<Long> ids, LocalDateTime until);
+
+    @Modifying
+    @Query("update ProvisioningTask t set t.attempts = ?2, t.availableAt = ?3, t.lastError = ?4 where t.id = ?1")
+    int reschedule(Long id, int attempts, LocalDateTime availableAt, String lastError);
+}
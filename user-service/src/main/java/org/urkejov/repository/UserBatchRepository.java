@@ -0,0 +1,42 @@
+package org.urkejov.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.urkejov.entity.User;
+import org.urkejov.tools.UuidV7;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts users with their ID and timestamps already set as a single JDBC batch,
+     * bypassing the persistence context.
+     */
+    public void insertUsers(List<User> users) {
+        List<Object[]> args = users.stream()
+                .map(user -> new Object[]{
+                        UuidV7.toBytes(user.getId()),
+                        user.getFirstName(),
+                        user.getLastName(),
+                        user.getUsername(),
+                        user.getEmail(),
+                        user.getPhoneNumber(),
+                        user.getNotes(),
+                        user.getFirebaseUid(),
+                        user.getUserStatus().name(),
+                        user.getUserRole().name(),
+                        Timestamp.valueOf(user.getCreatedAt()),
+                        Timestamp.valueOf(user.getUpdatedAt())
+                })
+                .toList();
+        jdbcTemplate.batchUpdate("insert into users (id, first_name, last_name, username, email, phone_number, notes, "
+                + "firebase_uid, status, role, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", args);
+    }
+}
@@ -1,18 +1,46 @@
 package org.urkejov.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.urkejov.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID> {
 
     @Query("select u from User u where u.email = ?1")
     Optional<User> findUserByEmail(String email);
 
     @Query("select (count(u) > 0) from User u where u.email = ?1")
     Boolean existsByEmail(String email);
+
+    /**
+     * The given emails that already belong to a user, in one query on {@code idx_users_email}.
+     */
+    @Query("select u.email from User u where u.email in ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select u from User u order by u.createdAt desc, u.id desc")
+    List<User> findNewest(Limit limit);
+
+    /**
+     * Next keyset page: the rows strictly after (createdAt, id) in
+     * {@code createdAt desc, id desc} order. The leading {@code createdAt <= ?1} gives the
+     * optimizer a range on {@code idx_users_created_at_id}; a row-value comparison would not.
+     */
+    @Query("select u from User u where u.createdAt <= ?1 and (u.createdAt < ?1 or u.id < ?2) "
+            + "order by u.createdAt desc, u.id desc")
+    List<User> findNewestBefore(LocalDateTime createdAt, UUID id, Limit limit);
+
+    @Modifying
+    @Query("update User u set u.firebaseUid = ?2 where u.id = ?1")
+    int updateFirebaseUid(UUID id, String firebaseUid);
 }
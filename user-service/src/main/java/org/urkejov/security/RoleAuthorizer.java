@@ -0,0 +1,100 @@
+package org.urkejov.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.stereotype.Component;
+import org.urkejov.config.RoleCacheProperties;
+import org.urkejov.tools.enums.UserRoleEnum;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the {@code roles} claim of a token against a set of {@link UserRoleEnum} values.
+ * <p>
+ * The claim is resolved into a bitmask (bit {@code ordinal()} per role), so a check is a
+ * single {@code &} against a mask the caller keeps in a constant. Role names that are not
+ * a {@link UserRoleEnum} constant are ignored.
+ * <p>
+ * With {@code user.role-cache.enabled} the mask is also cached under the token ID (the raw
+ * token when there is no {@code jti}; tokens without {@code exp} are never cached). For
+ * the short claims issued today resolving is cheaper than the lookup, see
+ * {@code RoleAuthorizationBenchmark}, so the cache is off by default.
+ */
+@Component
+public class RoleAuthorizer {
+
+    private static final Map<String, UserRoleEnum> ROLES_BY_NAME = Arrays.stream(UserRoleEnum.values())
+            .collect(Collectors.toUnmodifiableMap(UserRoleEnum::name, Function.identity()));
+
+    private final Cache<String, Integer> roles;
+
+    public RoleAuthorizer(RoleCacheProperties roleCacheProperties) {
+        // A fixed lifetime rather than a per-token Expiry: variable expiry reorders the
+        // timer wheel on every read, which costs more than resolving the claim. Expired
+        // tokens are rejected by the decoder, so a late eviction only holds memory.
+        this.roles = roleCacheProperties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(roleCacheProperties.getMaximumSize())
+                        .expireAfterWrite(roleCacheProperties.getTokenLifetime())
+                        .build()
+                : null;
+    }
+
+    /**
+     * Bitmask of the given roles, meant to be computed once and kept in a constant.
+     */
+    public static int mask(UserRoleEnum... roles) {
+        int mask = 0;
+        for (UserRoleEnum role : roles) {
+            mask |= 1 << role.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * @return whether the token carries at least one of the roles in {@code mask}
+     */
+    public boolean hasAnyRole(Jwt jwt, int mask) {
+        return jwt != null && (roles(jwt) & mask) != 0;
+    }
+
+    /**
+     * @return the bitmask of the roles in the token's {@code roles} claim
+     */
+    public int roles(Jwt jwt) {
+        // Raw claims: the Jwt accessors would run every read through the claim
+        // conversion service.
+        Map<String, Object> claims = jwt.getClaims();
+        if (roles == null || claims.get(JwtClaimNames.EXP) == null) {
+            return resolve(claims);
+        }
+        String tokenId = claims.get(JwtClaimNames.JTI) instanceof String jti ? jti : jwt.getTokenValue();
+        Integer cached = roles.getIfPresent(tokenId);
+        if (cached != null) {
+            return cached;
+        }
+        int resolved = resolve(claims);
+        roles.put(tokenId, resolved);
+        return resolved;
+    }
+
+    private static int resolve(Map<String, Object> claims) {
+        if (!(claims.get("roles") instanceof List<?> names)) {
+            return 0;
+        }
+        int roles = 0;
+        for (Object name : names) {
+            UserRoleEnum role = name instanceof String ? ROLES_BY_NAME.get(name) : null;
+            if (role != null) {
+                roles |= 1 << role.ordinal();
+            }
+        }
+        return roles;
+    }
+}
@@ -0,0 +1,109 @@
+package org.urkejov.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.urkejov.config.UserCacheProperties;
+import org.urkejov.entity.User;
+import org.urkejov.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process cache in front of the point reads of {@link UserRepository}: users by ID,
+ * and user IDs by email. Emails without a user are cached as well, for
+ * {@code user.cache.missing-email-ttl}, so repeated existence checks stay off the
+ * database too.
+ * <p>
+ * Entries are loaded atomically per key, so an invalidation issued after a write has
+ * committed also discards a load that read the old row. Writers on this instance
+ * invalidate after commit; {@code user.cache.expire-after-write} bounds staleness from
+ * other writers. Cached users are shared and must not be modified. Hit, miss and
+ * eviction counts are published as {@code cache.*} metrics tagged {@code cache=user.by-id}
+ * and {@code cache=user.by-email}.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, User> usersById;
+    private final Cache<String, Optional<UUID>> idsByEmail;
+
+    public UserCache(UserRepository userRepository, UserCacheProperties userCacheProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(userCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfter(new EmailExpiry(userCacheProperties.getExpireAfterWrite(), userCacheProperties.getMissingEmailTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "user.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "user.by-email");
+    }
+
+    public Optional<User> findById(UUID id) {
+        return Optional.ofNullable(usersById.get(id, key -> userRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        // Only the id is kept: putting the user we read here into usersById could land after
+        // a writer invalidated the id, and serve the old row until it expires.
+        Optional<UUID> id = idsByEmail.get(email, key -> userRepository.findUserByEmail(key).map(User::getId));
+        return id.flatMap(this::findById).filter(user -> email.equals(user.getEmail()));
+    }
+
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    /**
+     * Drops a user after a write. Pass every email the write may have touched, old and new.
+     */
+    public void invalidate(UUID id, String... emails) {
+        usersById.invalidate(id);
+        for (String email : emails) {
+            if (email != null) {
+                idsByEmail.invalidate(email);
+            }
+        }
+    }
+
+    public void invalidateAll(Collection<UUID> ids) {
+        usersById.invalidateAll(ids);
+    }
+
+    /**
+     * Drops emails that may have been cached as missing, after users with them were inserted.
+     */
+    public void invalidateEmails(Collection<String> emails) {
+        idsByEmail.invalidateAll(emails);
+    }
+
+    private record EmailExpiry(Duration found, Duration missing) implements Expiry<String, Optional<UUID>> {
+
+        @Override
+        public long expireAfterCreate(String email, Optional<UUID> id, long currentTime) {
+            return (id.isPresent() ? found : missing).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String email, Optional<UUID> id, long currentTime, long currentDuration) {
+            return expireAfterCreate(email, id, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String email, Optional<UUID> id, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.urkejov.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.urkejov.config.UserExportProperties;
+import org.urkejov.entity.User;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole user table to an output stream as NDJSON or CSV.
+ * <p>
+ * Rows are read through a forward-only, read-only JPA result stream with
+ * {@code user.export.fetch-size} and written one at a time without building response
+ * DTOs. The persistence context is cleared every {@code user.export.clear-interval}
+ * rows, so memory stays flat however many users there are.
+ */
+@Service
+@Slf4j
+public class UserExportService {
+
+    private static final String[] COLUMNS = {
+            "id", "firstName", "lastName", "username", "email", "phoneNumber", "notes", "firebaseUid",
+            "userStatus", "userRole", "createdAt", "updatedAt", "deletedAt", "lastLoginDate"
+    };
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserExportProperties userExportProperties;
+
+    public UserExportService(EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             UserExportProperties userExportProperties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.userExportProperties = userExportProperties;
+    }
+
+    /**
+     * Streams every user to {@code outputStream}, newest first like the listing, so the
+     * rows come straight off {@code idx_users_created_at_id} without a sort. The stream is
+     * flushed but not closed.
+     *
+     * @return the number of users written
+     */
+    public long export(OutputStream outputStream, Format format) {
+        Long written = transactionTemplate.execute(status -> {
+            try (Stream<User> users = entityManager
+                    .createQuery("select u from User u order by u.createdAt desc, u.id desc", User.class)
+                    .setHint(AvailableHints.HINT_FETCH_SIZE, userExportProperties.getFetchSize())
+                    .setHint(AvailableHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                return format == Format.CSV ? writeCsv(users, outputStream) : writeNdjson(users, outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} users as {}", written, format);
+        return written == null ? 0 : written;
+    }
+
+    private long writeNdjson(Stream<User> users, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        for (User user : (Iterable<User>) users::iterator) {
+            generator.writeStartObject();
+            generator.writeStringField("id", user.getId().toString());
+            generator.writeStringField("firstName", user.getFirstName());
+            generator.writeStringField("lastName", user.getLastName());
+            generator.writeStringField("username", user.getUsername());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeStringField("phoneNumber", user.getPhoneNumber());
+            generator.writeStringField("notes", user.getNotes());
+            generator.writeStringField("firebaseUid", user.getFirebaseUid());
+            generator.writeStringField("userStatus", user.getUserStatus() == null ? null : user.getUserStatus().name());
+            generator.writeStringField("userRole", user.getUserRole() == null ? null : user.getUserRole().name());
+            generator.writeStringField("createdAt", format(user.getCreatedAt()));
+            generator.writeStringField("updatedAt", format(user.getUpdatedAt()));
+            generator.writeStringField("deletedAt", format(user.getDeletedAt()));
+            generator.writeStringField("lastLoginDate", format(user.getLastLoginDate()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            if (++count % userExportProperties.getClearInterval() == 0) {
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Stream<User> users, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        long count = 0;
+        for (User user : (Iterable<User>) users::iterator) {
+            writeCsvValue(writer, user.getId().toString(), true);
+            writeCsvValue(writer, user.getFirstName(), false);
+            writeCsvValue(writer, user.getLastName(), false);
+            writeCsvValue(writer, user.getUsername(), false);
+            writeCsvValue(writer, user.getEmail(), false);
+            writeCsvValue(writer, user.getPhoneNumber(), false);
+            writeCsvValue(writer, user.getNotes(), false);
+            writeCsvValue(writer, user.getFirebaseUid(), false);
+            writeCsvValue(writer, user.getUserStatus() == null ? null : user.getUserStatus().name(), false);
+            writeCsvValue(writer, user.getUserRole() == null ? null : user.getUserRole().name(), false);
+            writeCsvValue(writer, format(user.getCreatedAt()), false);
+            writeCsvValue(writer, format(user.getUpdatedAt()), false);
+            writeCsvValue(writer, format(user.getDeletedAt()), false);
+            writeCsvValue(writer, format(user.getLastLoginDate()), false);
+            writer.write('\n');
+            if (++count % userExportProperties.getClearInterval() == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * RFC 4180 quoting: values containing a comma, quote or line break are quoted and
+     * inner quotes doubled. Nulls are written as empty fields.
+     */
+    private static void writeCsvValue(Writer writer, String value, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+
+    public enum Format {
+        NDJSON, CSV
+    }
+}
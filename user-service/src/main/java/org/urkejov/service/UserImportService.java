@@ -0,0 +1,257 @@
+package org.urkejov.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.urkejov.config.UserImportProperties;
+import org.urkejov.dto.request.UserImportRequest;
+import org.urkejov.dto.response.UserImportResponse;
+import org.urkejov.dto.response.UserImportResult;
+import org.urkejov.entity.User;
+import org.urkejov.identity.IdentityUser;
+import org.urkejov.repository.UserBatchRepository;
+import org.urkejov.repository.UserRepository;
+import org.urkejov.tools.ErrorMessage;
+import org.urkejov.tools.UuidV7;
+import org.urkejov.tools.enums.UserStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Creates many users in one request.
+ * <p>
+ * Rows are handled in batches of {@code user.import.batch-size}. Per batch the emails are
+ * checked against the {@code users} table in one query, the accounts are provisioned
+ * with one bulk identity provider call through {@link UserProvisioner}, and the
+ * provisioned users are inserted as one JDBC batch. Unlike {@code POST api/v1/users} no
+ * outbox row is written: the caller gets the provider outcome of every row, and a row
+ * that failed can simply be sent again.
+ * <p>
+ * Rows that bring a plain password are hashed with BCrypt on a pool of
+ * {@code user.import.hash-threads} threads, published under {@code executor.*} with
+ * {@code name=user.import.hashing}. Sending {@code passwordHash} skips that cost.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserBatchRepository userBatchRepository;
+    private final UserProvisioner userProvisioner;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final UserImportProperties userImportProperties;
+    private final ExecutorService passwordHashers;
+
+    public UserImportService(UserRepository userRepository,
+                             UserCache userCache,
+                             UserBatchRepository userBatchRepository,
+                             UserProvisioner userProvisioner,
+                             PasswordEncoder passwordEncoder,
+                             TransactionTemplate transactionTemplate,
+                             UserImportProperties userImportProperties,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.userBatchRepository = userBatchRepository;
+        this.userProvisioner = userProvisioner;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.userImportProperties = userImportProperties;
+        AtomicInteger threads = new AtomicInteger();
+        this.passwordHashers = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(userImportProperties.getHashThreads(), runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }), "user.import.hashing");
+    }
+
+    public UserImportResponse importUsers(List<UserImportRequest> rows) {
+        long start = System.nanoTime();
+        UserImportResult[] results = new UserImportResult[rows.size()];
+        Set<String> seenEmails = new HashSet<>();
+        int batches = 0;
+        for (int from = 0; from < rows.size(); from += userImportProperties.getBatchSize()) {
+            importBatch(rows, from, Math.min(from + userImportProperties.getBatchSize(), rows.size()), seenEmails, results);
+            batches++;
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        int created = count(results, UserImportResult.Status.CREATED);
+        int failed = count(results, UserImportResult.Status.FAILED);
+        UserImportResponse response = UserImportResponse.builder()
+                .rowsRead(rows.size())
+                .rowsCreated(created)
+                .rowsFailed(failed)
+                .rowsRejected(rows.size() - created - failed)
+                .batches(batches)
+                .durationMillis(durationNanos / 1_000_000)
+                .rowsPerSecond(durationNanos == 0 ? 0 : rows.size() * 1_000_000_000L / durationNanos)
+                .results(Arrays.asList(results))
+                .build();
+        log.info("Imported {} of {} users in {} ms ({} rows/s), {} rejected, {} failed", created, rows.size(),
+                response.getDurationMillis(), response.getRowsPerSecond(), response.getRowsRejected(), failed);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        passwordHashers.shutdown();
+        passwordHashers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void importBatch(List<UserImportRequest> rows, int from, int to, Set<String> seenEmails, UserImportResult[] results) {
+        List<Integer> candidates = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            UserImportRequest row = rows.get(index);
+            String error = validate(row);
+            if (error != null) {
+                results[index] = result(index, row, UserImportResult.Status.INVALID, null, error);
+            } else if (!seenEmails.add(row.getEmail())) {
+                results[index] = result(index, row, UserImportResult.Status.DUPLICATE, null, "Email appears earlier in the request");
+            } else {
+                candidates.add(index);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream().map(index -> rows.get(index).getEmail()).toList()));
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Integer> indexByUserId = new LinkedHashMap<>();
+        Map<String, User> usersById = new HashMap<>();
+        Map<String, CompletableFuture<String>> passwordHashes = new HashMap<>();
+        for (int index : candidates) {
+            UserImportRequest row = rows.get(index);
+            if (existingEmails.contains(row.getEmail())) {
+                results[index] = result(index, row, UserImportResult.Status.ALREADY_EXISTS, null, ErrorMessage.ALREADY_EXIST);
+                continue;
+            }
+            User user = toUser(row, now);
+            String userId = user.getId().toString();
+            indexByUserId.put(userId, index);
+            usersById.put(userId, user);
+            passwordHashes.put(userId, row.getPasswordHash() != null
+                    ? CompletableFuture.completedFuture(row.getPasswordHash())
+                    : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.getPassword()), passwordHashers));
+        }
+        if (indexByUserId.isEmpty()) {
+            return;
+        }
+
+        List<IdentityUser> identityUsers = new ArrayList<>(indexByUserId.size());
+        indexByUserId.keySet().forEach(userId -> {
+            User user = usersById.get(userId);
+            identityUsers.add(new IdentityUser(userId, user.getEmail(), user.getUsername(),
+                    user.getUserStatus() == UserStatusEnum.INACTIVE,
+                    passwordHashes.get(userId).join(),
+                    UserProvisioner.claimRoles(user.getUserRole())));
+        });
+
+        Map<String, UserProvisioner.Outcome> outcomes = userProvisioner.provision(identityUsers);
+        List<User> provisioned = new ArrayList<>(identityUsers.size());
+        indexByUserId.forEach((userId, index) -> {
+            UserProvisioner.Outcome outcome = outcomes.get(userId);
+            if (outcome.isProvisioned()) {
+                User user = usersById.get(userId);
+                user.setFirebaseUid(outcome.uid());
+                provisioned.add(user);
+            } else {
+                results[index] = result(index, rows.get(index), UserImportResult.Status.FAILED, null, outcome.error());
+            }
+        });
+        if (provisioned.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userBatchRepository.insertUsers(provisioned));
+            userCache.invalidateEmails(provisioned.stream().map(User::getEmail).toList());
+            for (User user : provisioned) {
+                String userId = user.getId().toString();
+                int index = indexByUserId.get(userId);
+                results[index] = result(index, rows.get(index), UserImportResult.Status.CREATED, userId, null);
+            }
+        } catch (RuntimeException e) {
+            // The accounts exist at the provider; sending the rows again links them up.
+            log.error("Inserting a batch of {} imported users failed", provisioned.size(), e);
+            for (User user : provisioned) {
+                int index = indexByUserId.get(user.getId().toString());
+                results[index] = result(index, rows.get(index), UserImportResult.Status.FAILED, null, e.getMessage());
+            }
+        }
+    }
+
+    private static String validate(UserImportRequest row) {
+        if (row == null) {
+            return ErrorMessage.INVALID_DATA;
+        }
+        if (isBlank(row.getEmail()) || isBlank(row.getUsername()) || isBlank(row.getFirstName())
+                || isBlank(row.getLastName()) || row.getStatus() == null
+                || row.getRoles() == null || row.getRoles().isEmpty() || row.getRoles().get(0) == null) {
+            return "firstName, lastName, username, email, status and roles are required";
+        }
+        if (row.getPasswordHash() != null) {
+            return BCRYPT_HASH.matcher(row.getPasswordHash()).matches() ? null : "passwordHash is not a BCrypt hash";
+        }
+        return isBlank(row.getPassword()) ? "password or passwordHash is required" : null;
+    }
+
+    private static User toUser(UserImportRequest row, LocalDateTime now) {
+        return User.builder()
+                .id(UuidV7.generate())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .username(row.getUsername())
+                .email(row.getEmail())
+                .phoneNumber(row.getPhoneNumber())
+                .notes(row.getNotes())
+                .userStatus(row.getStatus())
+                .userRole(row.getRoles().get(0))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static UserImportResult result(int index, UserImportRequest row, UserImportResult.Status status,
+                                           String userId, String error) {
+        return UserImportResult.builder()
+                .index(index)
+                .email(row == null ? null : row.getEmail())
+                .status(status)
+                .userId(userId)
+                .error(error)
+                .build();
+    }
+
+    private static int count(UserImportResult[] results, UserImportResult.Status status) {
+        int count = 0;
+        for (UserImportResult result : results) {
+            if (result.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
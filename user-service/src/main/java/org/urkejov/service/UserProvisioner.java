@@ -0,0 +1,112 @@
+package org.urkejov.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.urkejov.identity.IdentityProvider;
+import org.urkejov.identity.IdentityUser;
+import org.urkejov.tools.enums.UserRoleEnum;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Gets a batch of users an account at the {@link IdentityProvider}. Emails that already
+ * have an account only get their roles claim set; the rest are created with one bulk
+ * call. Running it again for the same users is safe.
+ * <p>
+ * Every provider call is observed as {@code identity.provider.requests}, tagged with the
+ * operation, so it is timed and traced as a child span of the provisioning run.
+ */
+@Component
+@Slf4j
+public class UserProvisioner {
+
+    private final IdentityProvider identityProvider;
+    private final ObservationRegistry observationRegistry;
+
+    public UserProvisioner(IdentityProvider identityProvider, ObservationRegistry observationRegistry) {
+        this.identityProvider = identityProvider;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * The {@code roles} claim a user with the given role gets.
+     */
+    public static List<String> claimRoles(UserRoleEnum role) {
+        return switch (role) {
+            case ADMIN -> List.of(UserRoleEnum.ADMIN.name(), UserRoleEnum.USER.name());
+            case USER -> List.of(UserRoleEnum.USER.name());
+            case SUPERVISOR -> List.of();
+        };
+    }
+
+    /**
+     * @param users the users to provision, each with its local user ID as {@code uid}
+     * @return the outcome for every user, by local user ID
+     */
+    public Map<String, Outcome> provision(List<IdentityUser> users) {
+        Map<String, Outcome> outcomes = new HashMap<>();
+        try {
+            Map<String, String> existing = observed("find_uids_by_email", () -> identityProvider.findUidsByEmail(
+                    users.stream().map(IdentityUser::email).toList()));
+            List<IdentityUser> toCreate = new ArrayList<>();
+            for (IdentityUser user : users) {
+                String uid = existing.get(user.email());
+                if (uid == null) {
+                    toCreate.add(user);
+                    continue;
+                }
+                try {
+                    observed("set_roles", () -> {
+                        identityProvider.setRoles(uid, user.roles());
+                        return null;
+                    });
+                    outcomes.put(user.uid(), Outcome.provisioned(uid));
+                } catch (RuntimeException e) {
+                    outcomes.put(user.uid(), Outcome.failed(e.getMessage()));
+                }
+            }
+            if (!toCreate.isEmpty()) {
+                Map<String, String> errors = observed("create_users", () -> identityProvider.createUsers(toCreate));
+                for (IdentityUser user : toCreate) {
+                    String error = errors.get(user.uid());
+                    outcomes.put(user.uid(), error == null ? Outcome.provisioned(user.uid()) : Outcome.failed(error));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Provisioning a batch of {} users failed: {}", users.size(), e.getMessage());
+            for (IdentityUser user : users) {
+                outcomes.putIfAbsent(user.uid(), Outcome.failed(String.valueOf(e.getMessage())));
+            }
+        }
+        return outcomes;
+    }
+
+    private <T> T observed(String operation, Supplier<T> call) {
+        return Observation.createNotStarted("identity.provider.requests", observationRegistry)
+                .contextualName("identity-provider " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(call);
+    }
+
+    /**
+     * @param uid   the identity provider account ID, when provisioned
+     * @param error why provisioning failed, otherwise
+     */
+    public record Outcome(String uid, String error) {
+
+        static Outcome provisioned(String uid) {
+            return new Outcome(uid, null);
+        }
+
+        static Outcome failed(String error) {
+            return new Outcome(null, error);
+        }
+
+        public boolean isProvisioned() {
+            return uid != null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.urkejov.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.urkejov.config.ProvisioningProperties;
+import org.urkejov.entity.ProvisioningTask;
+import org.urkejov.identity.IdentityUser;
+import org.urkejov.repository.ProvisioningTaskRepository;
+import org.urkejov.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the {@code user_provisioning_outbox} through the {@link UserProvisioner}.
+ * <p>
+ * Each poll claims due rows with {@code SKIP LOCKED} and leases them in a short
+ * transaction, then hands them to a pool of {@code user.provisioning.workers} threads in
+ * batches of {@code user.provisioning.batch-size}. No database connection is held while
+ * the provider is called. Provisioned rows store the account ID on the user and are
+ * deleted. Failed rows are retried with exponential backoff and parked after
+ * {@code user.provisioning.max-attempts}. Every step is idempotent, so a row whose worker
+ * died before completing is safe to run again once its lease runs out.
+ * <p>
+ * The worker pool is published under {@code executor.*} with
+ * {@code name=user.provisioning}, and finished rows are counted in
+ * {@code user.provisioning.tasks} by outcome. Batches carry the trace context of the
+ * poll that claimed them.
+ */
+@Service
+@Slf4j
+public class UserProvisioningWorker {
+
+    private final ProvisioningTaskRepository provisioningTaskRepository;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserProvisioner userProvisioner;
+    private final TransactionTemplate transactionTemplate;
+    private final ProvisioningProperties provisioningProperties;
+    private final ExecutorService workers;
+    private final Counter provisionedTasks;
+    private final Counter failedTasks;
+
+    public UserProvisioningWorker(ProvisioningTaskRepository provisioningTaskRepository,
+                                  UserRepository userRepository,
+                                  UserCache userCache,
+                                  UserProvisioner userProvisioner,
+                                  TransactionTemplate transactionTemplate,
+                                  ProvisioningProperties provisioningProperties,
+                                  MeterRegistry meterRegistry) {
+        this.provisioningTaskRepository = provisioningTaskRepository;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.userProvisioner = userProvisioner;
+        this.transactionTemplate = transactionTemplate;
+        this.provisioningProperties = provisioningProperties;
+        AtomicInteger threads = new AtomicInteger();
+        ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+        this.workers = ContextExecutorService.wrap(ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(provisioningProperties.getWorkers(), runnable -> {
+                    Thread thread = new Thread(runnable, "user-provisioning-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }), "user.provisioning"), contextSnapshotFactory::captureAll);
+        this.provisionedTasks = taskCounter(meterRegistry, "provisioned");
+        this.failedTasks = taskCounter(meterRegistry, "failed");
+    }
+
+    private static Counter taskCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("user.provisioning.tasks")
+                .description("Provisioning rows sent to the identity provider")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims and sends due rows until a claim comes back short, so a backlog drains
+     * without waiting a poll interval between rounds.
+     */
+    @Scheduled(fixedDelayString = "${user.provisioning.poll-interval-ms:500}")
+    public void poll() {
+        int claimSize = provisioningProperties.getWorkers() * provisioningProperties.getBatchSize();
+        List<ProvisioningTask> tasks;
+        do {
+            tasks = claim(claimSize);
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < tasks.size(); from += provisioningProperties.getBatchSize()) {
+                List<ProvisioningTask> batch = tasks.subList(from, Math.min(from + provisioningProperties.getBatchSize(), tasks.size()));
+                batches.add(CompletableFuture.runAsync(() -> provision(batch), workers));
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        } while (tasks.size() == claimSize);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private List<ProvisioningTask> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ProvisioningTask> due = provisioningTaskRepository.findDueForUpdate(now, Limit.of(limit));
+            if (!due.isEmpty()) {
+                provisioningTaskRepository.lease(
+                        due.stream().map(ProvisioningTask::getId).toList(),
+                        now.plus(provisioningProperties.getLease()));
+            }
+            return due;
+        });
+    }
+
+    private void provision(List<ProvisioningTask> batch) {
+        Map<String, UserProvisioner.Outcome> outcomes = userProvisioner.provision(batch.stream()
+                .map(UserProvisioningWorker::toIdentityUser)
+                .toList());
+        Map<ProvisioningTask, String> provisioned = new HashMap<>();
+        Map<ProvisioningTask, String> failed = new HashMap<>();
+        for (ProvisioningTask task : batch) {
+            UserProvisioner.Outcome outcome = outcomes.get(task.getUserId());
+            if (outcome.isProvisioned()) {
+                provisioned.put(task, outcome.uid());
+            } else {
+                failed.put(task, outcome.error());
+            }
+        }
+        provisionedTasks.increment(provisioned.size());
+        failedTasks.increment(failed.size());
+        try {
+            complete(provisioned, failed);
+        } catch (RuntimeException e) {
+            log.error("Recording the outcome of {} provisioning rows failed, retrying after the lease", batch.size(), e);
+        }
+    }
+
+    private void complete(Map<ProvisioningTask, String> provisioned, Map<ProvisioningTask, String> failed) {
+        transactionTemplate.executeWithoutResult(status -> {
+            provisioned.forEach((task, uid) -> userRepository.updateFirebaseUid(UUID.fromString(task.getUserId()), uid));
+            if (!provisioned.isEmpty()) {
+                provisioningTaskRepository.deleteAllByIdInBatch(provisioned.keySet().stream()
+                        .map(ProvisioningTask::getId)
+                        .toList());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            failed.forEach((task, error) -> {
+                int attempts = task.getAttempts() + 1;
+                LocalDateTime availableAt = null;
+                if (attempts < provisioningProperties.getMaxAttempts()) {
+                    availableAt = now.plus(backoff(attempts));
+                } else {
+                    log.error("Giving up provisioning user {} after {} attempts: {}", task.getUserId(), attempts, error);
+                }
+                provisioningTaskRepository.reschedule(task.getId(), attempts, availableAt, truncate(error));
+            });
+        });
+        userCache.invalidateAll(provisioned.keySet().stream()
+                .map(task -> UUID.fromString(task.getUserId()))
+                .toList());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = provisioningProperties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(provisioningProperties.getMaxBackoff()) > 0 ? provisioningProperties.getMaxBackoff() : backoff;
+    }
+
+    private static IdentityUser toIdentityUser(ProvisioningTask task) {
+        return new IdentityUser(task.getUserId(), task.getEmail(), task.getDisplayName(),
+                task.isDisabled(), task.getPasswordHash(), roles(task));
+    }
+
+    private static List<String> roles(ProvisioningTask task) {
+        return task.getRoles().isEmpty() ? List.of() : List.of(task.getRoles().split(","));
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
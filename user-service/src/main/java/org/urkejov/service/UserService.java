@@ -1,25 +1,26 @@
 package org.urkejov.service;
 
-import com.google.firebase.auth.AuthErrorCode;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.UserRecord;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.BindingResult;
 import org.urkejov.dto.request.UserRequest;
 import org.urkejov.dto.response.UserResponse;
+import org.urkejov.entity.ProvisioningTask;
 import org.urkejov.entity.User;
+import org.urkejov.repository.ProvisioningTaskRepository;
 import org.urkejov.repository.UserRepository;
 import org.urkejov.tools.ErrorMessage;
-import org.urkejov.tools.enums.UserRoleEnum;
+import org.urkejov.tools.PageCursor;
 import org.urkejov.tools.enums.UserStatusEnum;
 
 import java.util.*;
@@ -30,8 +31,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "username", "email");
+
     private final UserRepository userRepository;
 
+    private final UserCache userCache;
+
+    private final ProvisioningTaskRepository provisioningTaskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PasswordEncoder passwordEncoder;
+
     /**
      * Retrieves a user by their ID.
      *
@@ -42,7 +53,7 @@ public class UserService {
         UserResponse userResponse = new UserResponse();
         try {
             if (userId != null && !userId.isEmpty()) {
-                Optional<User> optionalUser = userRepository.findById(userId);
+                Optional<User> optionalUser = parseId(userId).flatMap(userCache::findById);
                 if (optionalUser.isEmpty()) {
                     userResponse.addError("User not found.");
                     return new ResponseEntity<>(userResponse, HttpStatus.NOT_FOUND);
@@ -62,20 +73,26 @@ public class UserService {
 
     /**
      * Retrieves all users with optional pagination and sorting.
+     * Sorting is limited to indexed attributes; ties are broken by id so pages are stable.
      *
      * @param size   the number of users per page
-     * @param sortBy the attribute to sort by
+     * @param sortBy the attribute to sort by, one of createdAt, username or email
      * @param page   the page number to retrieve
      * @return ResponseEntity containing the list of users or an error message
      */
     public ResponseEntity<?> getAllUsers(Optional<Integer> size, Optional<String> sortBy, Optional<Integer> page) {
         UserResponse userResponse = new UserResponse();
+        String sortField = sortBy.orElse("createdAt");
+        if (!SORTABLE_FIELDS.contains(sortField)) {
+            userResponse.addError(ErrorMessage.INVALID_SORT);
+            return new ResponseEntity<>(userResponse, HttpStatus.BAD_REQUEST);
+        }
         try {
             Page<User> users = userRepository.findAll(
                     PageRequest.of(
                             page.orElse(0),
                             size.orElse(10),
-                            Sort.Direction.DESC, sortBy.orElse("createdAt")
+                            Sort.by(Sort.Direction.DESC, sortField, "id")
                     )
             );
             if (page.isPresent() && page.get() >= users.getTotalPages()) {
@@ -99,8 +116,59 @@ public class UserService {
         }
     }
 
+    /**
+     * Retrieves users newest first with keyset pagination. Each page seeks past the
+     * (createdAt, id) of the previous one on the matching index, so deep pages cost the
+     * same as the first and no count query is run.
+     *
+     * @param size   the number of users per page
+     * @param cursor the {@code nextCursor} of the previous page, or blank for the first page
+     * @return ResponseEntity containing the users and, if there are more, the cursor of the next page
+     */
+    public ResponseEntity<?> getAllUsersAfter(Optional<Integer> size, String cursor) {
+        UserResponse userResponse = new UserResponse();
+        int limit = size.orElse(10);
+        if (limit < 1) {
+            userResponse.addError(ErrorMessage.BAD_REQUEST);
+            return new ResponseEntity<>(userResponse, HttpStatus.BAD_REQUEST);
+        }
+        PageCursor pageCursor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                pageCursor = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                userResponse.addError(ErrorMessage.INVALID_CURSOR);
+                return new ResponseEntity<>(userResponse, HttpStatus.BAD_REQUEST);
+            }
+        }
+        try {
+            // One extra row tells whether another page exists without counting.
+            List<User> users = pageCursor == null
+                    ? userRepository.findNewest(Limit.of(limit + 1))
+                    : userRepository.findNewestBefore(pageCursor.createdAt(), pageCursor.id(), Limit.of(limit + 1));
+            if (users.size() > limit) {
+                users = users.subList(0, limit);
+                User last = users.get(limit - 1);
+                userResponse.setNextCursor(new PageCursor(last.getCreatedAt(), last.getId()).encode());
+            }
+            if (users.isEmpty()) {
+                userResponse.addInfo(pageCursor == null ? "There are no users yet" : "There are no more users");
+            }
+            userResponse.setData(users.stream()
+                    .map(this::mapToDto)
+                    .collect(Collectors.toList()));
+            return new ResponseEntity<>(userResponse, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("An error occurred while retrieving users after cursor {}: {}", cursor, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Creates a new user based on the provided UserRequest data.
+     * The identity provider account is not created here: a provisioning row is committed
+     * with the user and {@link UserProvisioningWorker} creates the account in the
+     * background, after which the user's firebaseUid is set.
      *
      * @param bindingResult the result of the validation of the request
      * @param userRequest   the request object containing user details
@@ -117,48 +185,38 @@ public class UserService {
             return new ResponseEntity<>(userResponse, HttpStatus.BAD_REQUEST);
         }
         try {
-            Optional<User> optionalUser = userRepository.findUserByEmail(userRequest.getEmail());
-            if (optionalUser.isPresent()) {
+            if (userCache.existsByEmail(userRequest.getEmail())) {
                 userResponse.addError(ErrorMessage.ALREADY_EXIST);
                 return new ResponseEntity<>(userResponse, HttpStatus.BAD_REQUEST);
             }
-            UserRecord userFirebase = null;
-            try {
-                userFirebase = FirebaseAuth.getInstance().getUserByEmail(userRequest.getEmail());
-            } catch (FirebaseAuthException e) {
-                if (e.getAuthErrorCode() == AuthErrorCode.USER_NOT_FOUND) {
-                    UserRecord.CreateRequest request = new UserRecord.CreateRequest()
-                            .setEmail(userRequest.getEmail())
-                            .setEmailVerified(true)
-                            .setPassword(userRequest.getPassword())
-                            .setDisplayName(userRequest.getUsername())
-                            .setDisabled(userRequest.getStatus().equals(UserStatusEnum.INACTIVE));
-                    userFirebase = FirebaseAuth.getInstance().createUser(request);
-                } else {
-                    throw new RuntimeException("Firebase Exception :: " + e.getMessage() + " :: code name :: " + e.getAuthErrorCode().name());
-                }
-            }
-            List<String> roles = new ArrayList<>();
-            if (userRequest.getRoles().get(0) == UserRoleEnum.ADMIN) {
-                roles.add(userRequest.getRoles().get(0).name());
-                roles.add(UserRoleEnum.USER.name());
-            }
-            if (userRequest.getRoles().get(0) == UserRoleEnum.USER) {
-                roles.add(userRequest.getRoles().get(0).name());
-            }
+            List<String> roles = UserProvisioner.claimRoles(userRequest.getRoles().get(0));
+            // Hashed before the transaction so no connection is held for it.
+            String passwordHash = passwordEncoder.encode(userRequest.getPassword());
 
-            FirebaseAuth.getInstance().setCustomUserClaims(userFirebase.getUid(), Map.of("roles", Collections.unmodifiableList(roles)));
-            User user = User.builder()
-                    .firstName(userRequest.getFirstName())
-                    .lastName(userRequest.getLastName())
-                    .username(userRequest.getUsername())
-                    .email(userRequest.getEmail())
-                    .phoneNumber(userRequest.getPhoneNumber())
-                    .userStatus(userRequest.getStatus())
-                    .userRole(userRequest.getRoles().get(0))
-                    .firebaseUid(userFirebase.getUid())
-                    .notes(userRequest.getNotes())
-                    .build();
+            User user = transactionTemplate.execute(status -> {
+                User saved = userRepository.save(User.builder()
+                        .firstName(userRequest.getFirstName())
+                        .lastName(userRequest.getLastName())
+                        .username(userRequest.getUsername())
+                        .email(userRequest.getEmail())
+                        .phoneNumber(userRequest.getPhoneNumber())
+                        .userStatus(userRequest.getStatus())
+                        .userRole(userRequest.getRoles().get(0))
+                        .notes(userRequest.getNotes())
+                        .build());
+                provisioningTaskRepository.save(ProvisioningTask.builder()
+                        .userId(saved.getId().toString())
+                        .email(saved.getEmail())
+                        .displayName(saved.getUsername())
+                        .disabled(saved.getUserStatus() == UserStatusEnum.INACTIVE)
+                        .passwordHash(passwordHash)
+                        .roles(String.join(",", roles))
+                        .availableAt(saved.getCreatedAt())
+                        .createdAt(saved.getCreatedAt())
+                        .build());
+                return saved;
+            });
+            userCache.invalidate(user.getId(), user.getEmail());
 
             userResponse = mapToDto(user);
             return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
@@ -182,14 +240,16 @@ public class UserService {
                 userResponse.addError(ErrorMessage.BAD_REQUEST);
                 return new ResponseEntity<>(userResponse, HttpStatus.BAD_REQUEST);
             }
-            Optional<User> optionalUser = userRepository.findById(userId);
+            Optional<User> optionalUser = parseId(userId).flatMap(userRepository::findById);
             if (optionalUser.isEmpty()) {
                 userResponse.addError(ErrorMessage.NOT_FOUND);
                 return new ResponseEntity<>(userResponse, HttpStatus.NOT_FOUND);
             }
             User existingUser = optionalUser.get();
+            String previousEmail = existingUser.getEmail();
             updateUserFields(existingUser, userRequest);
             userRepository.save(existingUser);
+            userCache.invalidate(existingUser.getId(), previousEmail, existingUser.getEmail());
             userResponse = mapToDto(existingUser);
             return new ResponseEntity<>(userResponse, HttpStatus.OK);
         } catch (Exception e) {
@@ -231,15 +291,29 @@ public class UserService {
         }
     }
 
+    /**
+     * Parses a user ID from its text form; an ID that is not a UUID matches no user.
+     *
+     * @param userId the ID as shown in UserResponse
+     * @return the ID, or empty if it is malformed
+     */
+    private static Optional<UUID> parseId(String userId) {
+        try {
+            return Optional.of(UUID.fromString(userId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Maps a User entity to a UserResponse DTO.
      *
      * @param user the user entity to map
      * @return the mapped UserResponse DTO
      */
-    private UserResponse mapToDto(User user) {
+    public UserResponse mapToDto(User user) {
         return UserResponse.builder()
-                .id(user.getId())
+                .id(user.getId().toString())
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
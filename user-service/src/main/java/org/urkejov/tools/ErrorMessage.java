@@ -11,4 +11,6 @@ public class ErrorMessage {
     public static final String DELETE_CONSTRAINT = "Unable to delete the resource as it is currently being utilized in another part of the application.";
     public static final String DELETE_YOURSELF = "Unable to delete yourself.";
     public static final String INVALID_DATA = "Invalid data.";
+    public static final String INVALID_CURSOR = "Invalid cursor.";
+    public static final String INVALID_SORT = "Sorting is only supported by createdAt, username and email.";
 }
@@ -1,17 +1,24 @@
 package org.urkejov.tools;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * @deprecated use {@link org.urkejov.security.RoleAuthorizer}, which resolves the roles
+ * claim once per token instead of on every call.
+ */
+@Deprecated
+@Slf4j
 public class RoleTools {
     public static Boolean hasAccess(Jwt jwt, ArrayList<String> roles) {
         try {
             List<String> userRoles = jwt.getClaim("roles");
             return userRoles.stream().anyMatch(roles::contains);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("Cannot read the roles claim", e);
             return false;
         }
     }
@@ -20,7 +27,7 @@ public class RoleTools {
             List<String> userRoles = jwt.getClaim("roles");
             return userRoles.stream().anyMatch(role::equals);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("Cannot read the roles claim", e);
             return false;
         }
     }
@@ -0,0 +1,41 @@
+-- Schema as Hibernate created it before migrations were introduced. Databases that
+-- already have these tables are baselined at this version and skip it.
+
+create table users (
+    id              varchar(255) not null,
+    first_name      varchar(255),
+    last_name       varchar(255),
+    username        varchar(255),
+    email           varchar(255),
+    phone_number    varchar(255),
+    notes           varchar(255),
+    firebase_uid    varchar(255),
+    status          enum ('ACTIVE','INACTIVE'),
+    role            enum ('ADMIN','SUPERVISOR','USER'),
+    created_at      datetime(6),
+    updated_at      datetime(6),
+    deleted_at      datetime(6),
+    last_login_date datetime(6),
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_users_created_at_id on users (created_at desc, id desc);
+create index idx_users_username on users (username);
+create index idx_users_email on users (email);
+
+create table user_provisioning_outbox (
+    id            bigint       not null auto_increment,
+    user_id       varchar(255) not null,
+    email         varchar(255) not null,
+    display_name  varchar(255),
+    disabled      bit          not null,
+    password_hash varchar(255) not null,
+    roles         varchar(255) not null,
+    attempts      integer      not null,
+    available_at  datetime(6),
+    last_error    varchar(1000),
+    created_at    datetime(6)  not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_user_provisioning_outbox_available_at on user_provisioning_outbox (available_at, id);
@@ -0,0 +1,29 @@
+-- users.id becomes the 16 bytes of the UUID instead of its 36 character text. Existing
+-- random IDs keep their value; new ones are time-ordered (version 7). The outbox keeps
+-- the text form, which is also the identity provider uid of new accounts.
+
+alter table users add column id_bin binary(16) null;
+
+update users set id_bin = uuid_to_bin(id);
+
+-- Databases baselined at V1 only have idx_users_created_at_id if Hibernate added it, and
+-- MySQL has no DROP INDEX IF EXISTS. Left in place, dropping id would shrink it to
+-- created_at alone and the index added below would clash with its name.
+set @drop_created_at_index = (
+    select if(count(*) > 0, 'alter table users drop index idx_users_created_at_id', 'do 0')
+    from information_schema.statistics
+    where table_schema = database()
+      and table_name = 'users'
+      and index_name = 'idx_users_created_at_id');
+prepare drop_created_at_index from @drop_created_at_index;
+execute drop_created_at_index;
+deallocate prepare drop_created_at_index;
+
+alter table users
+    drop primary key,
+    drop column id;
+
+alter table users
+    change column id_bin id binary(16) not null first,
+    add primary key (id),
+    add index idx_users_created_at_id (created_at desc, id desc);
@@ -0,0 +1,29 @@
+package org.urkejov.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.urkejov.tools.UuidV7;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkUsers {
+
+	private BenchmarkUsers() {
+	}
+
+	/**
+	 * Inserts {@code count} users created two per second, so ties on createdAt exist.
+	 */
+	static void seed(JdbcTemplate jdbcTemplate, int count) {
+		LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+		List<Object[]> rows = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			rows.add(new Object[]{UuidV7.toBytes(UuidV7.generate()), "user" + i + "@example.com", "user" + i,
+					"First " + i, "Last " + i, "ACTIVE", "USER", Timestamp.valueOf(start.plusSeconds(i / 2))});
+		}
+		jdbcTemplate.batchUpdate("insert into users (id, email, username, first_name, last_name, status, role, created_at) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+	}
+}
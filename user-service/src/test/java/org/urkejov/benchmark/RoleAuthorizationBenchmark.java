@@ -0,0 +1,83 @@
+package org.urkejov.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.urkejov.config.RoleCacheProperties;
+import org.urkejov.security.RoleAuthorizer;
+import org.urkejov.tools.RoleTools;
+import org.urkejov.tools.enums.UserRoleEnum;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one controller role check: the old {@link RoleTools} call with its per-request
+ * role list, and {@link RoleAuthorizer} resolving the claim on every call or with the
+ * per-token cache enabled.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RoleAuthorizationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleAuthorizationBenchmark {
+
+	private static final int READ_WRITE_ROLES = RoleAuthorizer.mask(UserRoleEnum.ADMIN, UserRoleEnum.USER);
+
+	private RoleAuthorizer roleAuthorizer;
+	private RoleAuthorizer cachingRoleAuthorizer;
+	private Jwt jwt;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		RoleCacheProperties roleCacheProperties = new RoleCacheProperties();
+		roleAuthorizer = new RoleAuthorizer(roleCacheProperties);
+		roleCacheProperties.setEnabled(true);
+		cachingRoleAuthorizer = new RoleAuthorizer(roleCacheProperties);
+		jwt = token();
+		if (RoleTools.hasAccess(jwt, readWriteRoleNames()) != roleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES)
+				|| roleAuthorizer.roles(jwt) != cachingRoleAuthorizer.roles(jwt)) {
+			throw new IllegalStateException("RoleTools and RoleAuthorizer disagree");
+		}
+	}
+
+	@Benchmark
+	@SuppressWarnings("deprecation")
+	public boolean roleTools() {
+		return RoleTools.hasAccess(jwt, readWriteRoleNames());
+	}
+
+	@Benchmark
+	public boolean roleAuthorizer() {
+		return roleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES);
+	}
+
+	@Benchmark
+	public boolean roleAuthorizerCached() {
+		return cachingRoleAuthorizer.hasAnyRole(jwt, READ_WRITE_ROLES);
+	}
+
+	private static ArrayList<String> readWriteRoleNames() {
+		return new ArrayList<>(List.of(UserRoleEnum.ADMIN.name(), UserRoleEnum.USER.name()));
+	}
+
+	private static Jwt token() {
+		Instant issuedAt = Instant.now();
+		return Jwt.withTokenValue("token-" + UUID.randomUUID())
+				.header("alg", "RS256")
+				.jti(UUID.randomUUID().toString())
+				.subject("user-1")
+				.issuedAt(issuedAt)
+				.expiresAt(issuedAt.plus(1, ChronoUnit.HOURS))
+				.claim("roles", List.of("SUPERVISOR", "USER"))
+				.build();
+	}
+
+}
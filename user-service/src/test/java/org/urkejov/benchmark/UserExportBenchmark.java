@@ -0,0 +1,82 @@
+package org.urkejov.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.urkejov.UserServiceApplication;
+import org.urkejov.dto.response.UserResponse;
+import org.urkejov.service.UserExportService;
+import org.urkejov.service.UserService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dumping the whole user table: the streaming export against paging through the
+ * listing API a hundred users at a time, as reporting jobs used to. Add
+ * {@code -prof gc} to compare allocation per dump.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserExportBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserExportBenchmark {
+
+	@Param({"200000"})
+	private int users;
+
+	private ConfigurableApplicationContext context;
+	private UserService userService;
+	private UserExportService userExportService;
+	private ObjectMapper objectMapper;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(UserServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		userService = context.getBean(UserService.class);
+		userExportService = context.getBean(UserExportService.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+		BenchmarkUsers.seed(context.getBean(JdbcTemplate.class), users);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long streamingExport() {
+		long written = userExportService.export(OutputStream.nullOutputStream(), UserExportService.Format.NDJSON);
+		if (written != users) {
+			throw new IllegalStateException("Exported " + written + " of " + users + " users");
+		}
+		return written;
+	}
+
+	@Benchmark
+	public long pageThroughApi() throws IOException {
+		OutputStream outputStream = OutputStream.nullOutputStream();
+		long written = 0;
+		String cursor = "";
+		do {
+			UserResponse page = (UserResponse) userService.getAllUsersAfter(Optional.of(100), cursor).getBody();
+			outputStream.write(objectMapper.writeValueAsBytes(page));
+			written += page.getData().size();
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return written;
+	}
+
+}
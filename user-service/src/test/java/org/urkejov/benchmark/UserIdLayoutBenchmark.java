@@ -0,0 +1,111 @@
+package org.urkejov.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.urkejov.UserServiceApplication;
+import org.urkejov.tools.UuidV7;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary key layouts of the users table: the old random UUID as {@code VARCHAR(36)} and
+ * the time-ordered UUID as {@code BINARY(16)}. Each table has the email secondary index,
+ * which stores the primary key in every entry. {@code insertBatch} appends 1000 users
+ * to a table that keeps growing; {@code pointLookup} reads one random existing user.
+ * H2 shows the cost of the wider key; page splits need InnoDB, so run against MySQL with
+ * {@code -Dspring.datasource.url=...} for those.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserIdLayoutBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserIdLayoutBenchmark {
+
+	private static final int BATCH = 1000;
+
+	public enum Layout {
+		VARCHAR_UUID4("varchar(36)"),
+		BINARY_UUID7("binary(16)");
+
+		private final String columnType;
+
+		Layout(String columnType) {
+			this.columnType = columnType;
+		}
+
+		Object newId() {
+			return this == VARCHAR_UUID4 ? UUID.randomUUID().toString() : UuidV7.toBytes(UuidV7.generate());
+		}
+	}
+
+	@Param({"200000"})
+	private int users;
+
+	@Param
+	private Layout layout;
+
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private String table;
+	private List<Object> ids;
+	private int inserted;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(UserServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		table = "users_" + layout.name().toLowerCase();
+		jdbcTemplate.execute("drop table if exists " + table);
+		jdbcTemplate.execute("create table " + table + " (id " + layout.columnType + " not null, email varchar(255), "
+				+ "created_at timestamp(6), primary key (id))");
+		jdbcTemplate.execute("create index idx_" + table + "_email on " + table + " (email)");
+		ids = new ArrayList<>(users);
+		while (inserted < users) {
+			ids.addAll(insertBatch());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		jdbcTemplate.execute("drop table " + table);
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public List<Object> insertBatch() {
+		List<Object> batchIds = new ArrayList<>(BATCH);
+		List<Object[]> rows = new ArrayList<>(BATCH);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		for (int i = 0; i < BATCH; i++) {
+			Object id = layout.newId();
+			batchIds.add(id);
+			rows.add(new Object[]{id, "user" + inserted++ + "@example.com", now});
+		}
+		jdbcTemplate.batchUpdate("insert into " + table + " (id, email, created_at) values (?, ?, ?)", rows);
+		return batchIds;
+	}
+
+	@Benchmark
+	public String pointLookup() {
+		Object id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+		return jdbcTemplate.queryForObject("select email from " + table + " where id = ?", String.class, id);
+	}
+
+}
@@ -0,0 +1,98 @@
+package org.urkejov.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.urkejov.UserServiceApplication;
+import org.urkejov.dto.request.UserImportRequest;
+import org.urkejov.dto.response.UserImportResponse;
+import org.urkejov.service.UserImportService;
+import org.urkejov.tools.enums.UserRoleEnum;
+import org.urkejov.tools.enums.UserStatusEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to import {@code users} users through {@link UserImportService} with the in-memory
+ * identity provider answering every call after {@code latency}. A batch size of 1 is
+ * roughly one provider round trip per user, as with {@code POST api/v1/users}. Rows carry
+ * a BCrypt hash, so no hashing is measured.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserImportBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UserImportBenchmark {
+
+	private static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode("secret");
+
+	@Param({"5000"})
+	private int users;
+
+	@Param({"1", "100", "1000"})
+	private int batchSize;
+
+	@Param({"5ms"})
+	private String latency;
+
+	private ConfigurableApplicationContext context;
+	private UserImportService userImportService;
+	private JdbcTemplate jdbcTemplate;
+	private List<UserImportRequest> rows;
+	private int iteration;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(UserServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run("--user.import.batch-size=" + batchSize, "--user.identity-provider.latency=" + latency);
+		userImportService = context.getBean(UserImportService.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+	}
+
+	/**
+	 * Fresh emails every iteration, so the provider never already knows them.
+	 */
+	@Setup(Level.Iteration)
+	public void newRows() {
+		jdbcTemplate.execute("truncate table users");
+		iteration++;
+		rows = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			UserImportRequest row = new UserImportRequest();
+			row.setFirstName("First");
+			row.setLastName("Last");
+			row.setUsername("user" + i);
+			row.setEmail("user" + iteration + "-" + i + "@example.com");
+			row.setStatus(UserStatusEnum.ACTIVE);
+			row.setRoles(List.of(UserRoleEnum.USER));
+			row.setPasswordHash(PASSWORD_HASH);
+			rows.add(row);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public UserImportResponse importUsers() {
+		UserImportResponse response = userImportService.importUsers(rows);
+		if (response.getRowsCreated() != users) {
+			throw new IllegalStateException("Only " + response.getRowsCreated() + " of " + users + " users were created");
+		}
+		return response;
+	}
+
+}
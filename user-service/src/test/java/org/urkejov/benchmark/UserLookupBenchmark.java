@@ -0,0 +1,98 @@
+package org.urkejov.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.urkejov.UserServiceApplication;
+import org.urkejov.entity.User;
+import org.urkejov.repository.UserRepository;
+import org.urkejov.service.UserCache;
+import org.urkejov.tools.UuidV7;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point reads of random users by ID and email existence checks, through
+ * {@link UserCache} and straight from {@link UserRepository}. Every key is read once in
+ * setup, so the cached numbers are the steady state.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserLookupBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+	@Param({"10000"})
+	private int users;
+
+	private ConfigurableApplicationContext context;
+	private UserCache userCache;
+	private UserRepository userRepository;
+	private List<UUID> ids;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(UserServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		userCache = context.getBean(UserCache.class);
+		userRepository = context.getBean(UserRepository.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		BenchmarkUsers.seed(jdbcTemplate, users);
+		ids = jdbcTemplate.queryForList("select id from users", byte[].class).stream()
+				.map(UuidV7::fromBytes)
+				.toList();
+		ids.forEach(userCache::findById);
+		for (int i = 0; i < users + users / 3; i++) {
+			userCache.existsByEmail("user" + i + "@example.com");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<User> findByIdCached() {
+		return userCache.findById(randomId());
+	}
+
+	@Benchmark
+	public Optional<User> findByIdRepository() {
+		return userRepository.findById(randomId());
+	}
+
+	@Benchmark
+	public boolean existsByEmailCached() {
+		return userCache.existsByEmail(randomEmail());
+	}
+
+	@Benchmark
+	public boolean existsByEmailRepository() {
+		return userRepository.existsByEmail(randomEmail());
+	}
+
+	private UUID randomId() {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+
+	/**
+	 * One in four emails belongs to no user.
+	 */
+	private String randomEmail() {
+		return "user" + ThreadLocalRandom.current().nextInt(users + users / 3) + "@example.com";
+	}
+
+}
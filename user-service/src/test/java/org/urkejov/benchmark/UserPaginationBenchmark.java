@@ -0,0 +1,93 @@
+package org.urkejov.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.urkejov.UserServiceApplication;
+import org.urkejov.dto.response.UserResponse;
+import org.urkejov.service.UserService;
+import org.urkejov.tools.PageCursor;
+import org.urkejov.tools.UuidV7;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of ten users, newest first, with offset paging and with the
+ * keyset cursor. Offset paging counts the table and skips {@code page * 10} rows;
+ * the cursor seeks on {@code idx_users_created_at_id}. Run against MySQL with
+ * {@code -Dspring.datasource.url=...} for InnoDB numbers.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserPaginationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPaginationBenchmark {
+
+	private static final int PAGE_SIZE = 10;
+
+	@Param({"100000"})
+	private int users;
+
+	@Param({"0", "1000"})
+	private int page;
+
+	private ConfigurableApplicationContext context;
+	private UserService userService;
+	private String cursor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(UserServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		userService = context.getBean(UserService.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		BenchmarkUsers.seed(jdbcTemplate, users);
+
+		cursor = "";
+		if (page > 0) {
+			Map<String, Object> last = jdbcTemplate.queryForMap(
+					"select created_at, id from users order by created_at desc, id desc limit 1 offset ?",
+					page * PAGE_SIZE - 1);
+			cursor = new PageCursor(((Timestamp) last.get("created_at")).toLocalDateTime(), UuidV7.fromBytes((byte[]) last.get("id"))).encode();
+		}
+		if (!ids(offset()).equals(ids(keyset()))) {
+			throw new IllegalStateException("Offset and keyset pages differ");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public ResponseEntity<?> offset() {
+		return userService.getAllUsers(Optional.of(PAGE_SIZE), Optional.empty(), Optional.of(page));
+	}
+
+	@Benchmark
+	public ResponseEntity<?> keyset() {
+		return userService.getAllUsersAfter(Optional.of(PAGE_SIZE), cursor);
+	}
+
+	private static List<String> ids(ResponseEntity<?> response) {
+		return ((UserResponse) response.getBody()).getData().stream()
+				.map(UserResponse::getId)
+				.toList();
+	}
+
+}
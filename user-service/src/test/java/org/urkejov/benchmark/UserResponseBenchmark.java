@@ -0,0 +1,102 @@
+package org.urkejov.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.urkejov.UserServiceApplication;
+import org.urkejov.dto.response.UserResponse;
+import org.urkejov.entity.User;
+import org.urkejov.service.UserService;
+import org.urkejov.tools.UuidV7;
+import org.urkejov.tools.enums.UserRoleEnum;
+import org.urkejov.tools.enums.UserStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping users to {@link UserResponse} through its Lombok builder, and writing single
+ * and page responses with the application's {@link ObjectMapper}.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserResponseBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserResponseBenchmark {
+
+	@Param({"50"})
+	private int pageSize;
+
+	private ConfigurableApplicationContext context;
+	private UserService userService;
+	private ObjectMapper objectMapper;
+	private User user;
+	private List<User> users;
+	private UserResponse single;
+	private UserResponse page;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(UserServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("benchmark")
+				.run();
+		userService = context.getBean(UserService.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+		users = new ArrayList<>(pageSize);
+		for (int i = 0; i < pageSize; i++) {
+			users.add(User.builder()
+					.id(UuidV7.generate())
+					.email("user" + i + "@example.com")
+					.username("user" + i)
+					.firstName("First " + i)
+					.lastName("Last " + i)
+					.phoneNumber("+381601234" + i)
+					.firebaseUid("firebase-uid-" + i)
+					.userStatus(UserStatusEnum.ACTIVE)
+					.userRole(UserRoleEnum.USER)
+					.createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+					.updatedAt(LocalDateTime.of(2024, 6, 1, 0, 0).plusMinutes(i))
+					.build());
+		}
+		user = users.get(0);
+		single = userService.mapToDto(user);
+		single.addInfo("User found");
+		page = new UserResponse();
+		page.setData(users.stream().map(userService::mapToDto).toList());
+		page.setNextCursor("eyJjcmVhdGVkQXQiOiIyMDI0LTAxLTAxVDAwOjQ5IiwiaWQiOiIwMTkwIn0");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public UserResponse mapToDto() {
+		return userService.mapToDto(user);
+	}
+
+	@Benchmark
+	public List<UserResponse> mapPage() {
+		return users.stream().map(userService::mapToDto).toList();
+	}
+
+	@Benchmark
+	public byte[] serializeUser() throws Exception {
+		return objectMapper.writeValueAsBytes(single);
+	}
+
+	@Benchmark
+	public byte[] serializePage() throws Exception {
+		return objectMapper.writeValueAsBytes(page);
+	}
+}
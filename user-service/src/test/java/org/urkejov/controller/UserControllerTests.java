@@ -0,0 +1,94 @@
+package org.urkejov.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.urkejov.config.RoleCacheProperties;
+import org.urkejov.security.RoleAuthorizer;
+import org.urkejov.service.UserExportService;
+import org.urkejov.service.UserImportService;
+import org.urkejov.service.UserService;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The jwk-set-uri only switches on the resource server filter chain; tokens are decoded by the mock.
+@WebMvcTest(controllers = UserController.class,
+		properties = "spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost/.well-known/jwks.json")
+@Import(UserControllerTests.Config.class)
+class UserControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private JwtDecoder jwtDecoder;
+
+	@MockBean
+	private UserService userService;
+
+	@MockBean
+	private UserExportService userExportService;
+
+	@MockBean
+	private UserImportService userImportService;
+
+	@BeforeEach
+	void setUp() {
+		when(jwtDecoder.decode("user-token")).thenReturn(token("user-token", "USER"));
+		when(jwtDecoder.decode("admin-token")).thenReturn(token("admin-token", "ADMIN", "USER"));
+	}
+
+	@Test
+	void adminOnlyEndpointRejectsAUserToken() throws Exception {
+		mockMvc.perform(get("/api/v1/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer user-token"))
+				.andExpect(status().isUnauthorized())
+				// Accepted by the resource server filter and refused by the role check.
+				.andExpect(header().doesNotExist(HttpHeaders.WWW_AUTHENTICATE));
+
+		verify(userExportService, never()).export(any(), any());
+	}
+
+	@Test
+	void adminOnlyEndpointAcceptsAnAdminToken() throws Exception {
+		mockMvc.perform(get("/api/v1/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer admin-token"))
+				.andExpect(status().isOk());
+
+		verify(userExportService).export(any(), eq(UserExportService.Format.NDJSON));
+	}
+
+	private static Jwt token(String value, String... roles) {
+		return Jwt.withTokenValue(value)
+				.header("alg", "none")
+				.subject("someone")
+				.issuedAt(Instant.now())
+				.expiresAt(Instant.now().plusSeconds(600))
+				.claim("roles", List.of(roles))
+				.build();
+	}
+
+	@TestConfiguration
+	@EnableConfigurationProperties(RoleCacheProperties.class)
+	@Import(RoleAuthorizer.class)
+	static class Config {
+	}
+
+}
@@ -0,0 +1,111 @@
+package org.urkejov.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations against MySQL 8, the only engine they are written for. Skipped
+ * where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTests {
+
+	@Container
+	private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.36");
+
+	private DriverManagerDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		flyway("latest").clean();
+	}
+
+	@Test
+	void binaryIdsKeepTheValueOfExistingUsers() {
+		flyway("1").migrate();
+		String id = UUID.randomUUID().toString();
+		jdbcTemplate.update("insert into users (id, email, created_at) values (?, 'ann@example.com', now(6))", id);
+
+		flyway("latest").migrate();
+
+		assertThat(jdbcTemplate.queryForObject("select bin_to_uuid(id) from users where email = 'ann@example.com'", String.class))
+				.isEqualTo(id);
+		assertMigratedUsersTable();
+	}
+
+	@Test
+	void databaseBaselinedWithoutTheCreatedAtIndexMigrates() {
+		// The users table as ddl-auto created it before keyset pagination added idx_users_created_at_id.
+		jdbcTemplate.execute("""
+				create table users (
+				    id              varchar(255) not null,
+				    first_name      varchar(255),
+				    last_name       varchar(255),
+				    username        varchar(255),
+				    email           varchar(255),
+				    phone_number    varchar(255),
+				    notes           varchar(255),
+				    firebase_uid    varchar(255),
+				    status          enum ('ACTIVE','INACTIVE'),
+				    role            enum ('ADMIN','SUPERVISOR','USER'),
+				    created_at      datetime(6),
+				    updated_at      datetime(6),
+				    deleted_at      datetime(6),
+				    last_login_date datetime(6),
+				    primary key (id)
+				) engine = InnoDB""");
+		String id = UUID.randomUUID().toString();
+		jdbcTemplate.update("insert into users (id, email, created_at) values (?, 'bob@example.com', now(6))", id);
+
+		Flyway.configure()
+				.dataSource(dataSource)
+				.baselineOnMigrate(true)
+				.baselineVersion("1")
+				.load()
+				.migrate();
+
+		assertThat(jdbcTemplate.queryForObject("select bin_to_uuid(id) from users where email = 'bob@example.com'", String.class))
+				.isEqualTo(id);
+		assertMigratedUsersTable();
+	}
+
+	private void assertMigratedUsersTable() {
+		assertThat(jdbcTemplate.queryForObject("""
+				select column_type from information_schema.columns
+				where table_schema = database() and table_name = 'users' and column_name = 'id'""", String.class))
+				.isEqualTo("binary(16)");
+		assertThat(indexColumns("PRIMARY")).containsExactly("id");
+		assertThat(indexColumns("idx_users_created_at_id")).containsExactly("created_at", "id");
+	}
+
+	private List<String> indexColumns(String index) {
+		return jdbcTemplate.queryForList("""
+				select column_name from information_schema.statistics
+				where table_schema = database() and table_name = 'users' and index_name = ?
+				order by seq_in_index""", String.class, index);
+	}
+
+	private Flyway flyway(String target) {
+		return Flyway.configure()
+				.dataSource(dataSource)
+				.cleanDisabled(false)
+				.target(target)
+				.load();
+	}
+
+}
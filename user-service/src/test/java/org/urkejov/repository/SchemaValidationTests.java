@@ -0,0 +1,47 @@
+package org.urkejov.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the service on an empty MySQL 8 database with the production settings: Flyway
+ * creates the schema and Hibernate only validates the entities against it. Skipped where
+ * Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"eureka.client.enabled=false",
+		"user.identity-provider=in-memory",
+		"management.tracing.enabled=false"
+})
+class SchemaValidationTests {
+
+	@Container
+	private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.36");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void dataSource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", mysql::getJdbcUrl);
+		registry.add("spring.datasource.username", mysql::getUsername);
+		registry.add("spring.datasource.password", mysql::getPassword);
+	}
+
+	@Test
+	void entitiesMatchTheMigratedSchema() {
+		assertThat(jdbcTemplate.queryForObject("select max(version) from flyway_schema_history", String.class))
+				.isEqualTo("2");
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.urkejov.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.urkejov.config.RoleCacheProperties;
+import org.urkejov.tools.enums.UserRoleEnum;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleAuthorizerTests {
+
+	private static final int READ_WRITE_ROLES = RoleAuthorizer.mask(UserRoleEnum.ADMIN, UserRoleEnum.USER);
+
+	private static final int ADMIN_ROLES = RoleAuthorizer.mask(UserRoleEnum.ADMIN);
+
+	private final RoleAuthorizer roleAuthorizer = new RoleAuthorizer(new RoleCacheProperties());
+
+	@Test
+	void maskSetsOneBitPerRole() {
+		assertThat(RoleAuthorizer.mask()).isZero();
+		assertThat(RoleAuthorizer.mask(UserRoleEnum.ADMIN)).isEqualTo(1 << UserRoleEnum.ADMIN.ordinal());
+		assertThat(READ_WRITE_ROLES).isEqualTo(RoleAuthorizer.mask(UserRoleEnum.ADMIN) | RoleAuthorizer.mask(UserRoleEnum.USER));
+		assertThat(RoleAuthorizer.mask(UserRoleEnum.USER, UserRoleEnum.USER)).isEqualTo(RoleAuthorizer.mask(UserRoleEnum.USER));
+		assertThat(READ_WRITE_ROLES & RoleAuthorizer.mask(UserRoleEnum.SUPERVISOR)).isZero();
+	}
+
+	@Test
+	void matchingRoleIsGranted() {
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of("roles", List.of("USER"))), READ_WRITE_ROLES)).isTrue();
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of("roles", List.of("SUPERVISOR", "ADMIN"))), ADMIN_ROLES)).isTrue();
+	}
+
+	@Test
+	void otherRoleIsDenied() {
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of("roles", List.of("USER"))), ADMIN_ROLES)).isFalse();
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of("roles", List.of("SUPERVISOR"))), READ_WRITE_ROLES)).isFalse();
+	}
+
+	@Test
+	void unknownRoleNamesAreIgnored() {
+		Jwt jwt = token(Map.of("roles", List.of("ROOT", "admin", "USER")));
+
+		assertThat(roleAuthorizer.roles(jwt)).isEqualTo(RoleAuthorizer.mask(UserRoleEnum.USER));
+		assertThat(roleAuthorizer.hasAnyRole(jwt, ADMIN_ROLES)).isFalse();
+	}
+
+	@Test
+	void missingOrEmptyRolesClaimIsDenied() {
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of()), READ_WRITE_ROLES)).isFalse();
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of("roles", List.of())), READ_WRITE_ROLES)).isFalse();
+		assertThat(roleAuthorizer.hasAnyRole(token(Map.of("roles", "ADMIN")), READ_WRITE_ROLES)).isFalse();
+		assertThat(roleAuthorizer.hasAnyRole(null, READ_WRITE_ROLES)).isFalse();
+	}
+
+	@Test
+	void cachedRolesAreKeyedByTokenId() {
+		RoleCacheProperties properties = new RoleCacheProperties();
+		properties.setEnabled(true);
+		RoleAuthorizer cached = new RoleAuthorizer(properties);
+		Instant expiresAt = Instant.now().plusSeconds(600);
+
+		assertThat(cached.hasAnyRole(token(Map.of("jti", "token-1", "exp", expiresAt, "roles", List.of("ADMIN"))), ADMIN_ROLES)).isTrue();
+
+		// Same jti, so the first resolution is served even though the claim differs.
+		assertThat(cached.hasAnyRole(token(Map.of("jti", "token-1", "exp", expiresAt, "roles", List.of("USER"))), ADMIN_ROLES)).isTrue();
+		assertThat(cached.hasAnyRole(token(Map.of("jti", "token-2", "exp", expiresAt, "roles", List.of("USER"))), ADMIN_ROLES)).isFalse();
+		// Tokens without exp are never cached.
+		assertThat(cached.hasAnyRole(token(Map.of("jti", "token-3", "roles", List.of("ADMIN"))), ADMIN_ROLES)).isTrue();
+		assertThat(cached.hasAnyRole(token(Map.of("jti", "token-3", "roles", List.of("USER"))), ADMIN_ROLES)).isFalse();
+	}
+
+	private static Jwt token(Map<String, Object> claims) {
+		return new Jwt("token-value", null, null, Map.of("alg", "none"), claims.isEmpty() ? Map.of("sub", "someone") : claims);
+	}
+
+}
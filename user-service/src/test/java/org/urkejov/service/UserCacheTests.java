@@ -0,0 +1,126 @@
+package org.urkejov.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.urkejov.config.UserCacheProperties;
+import org.urkejov.dto.request.UserRequest;
+import org.urkejov.entity.User;
+import org.urkejov.repository.UserRepository;
+import org.urkejov.tools.UuidV7;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("benchmark")
+class UserCacheTests {
+
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from users");
+	}
+
+	@Test
+	void servesRepeatedReadsWithoutTheDatabase() {
+		UUID id = insert("eve@example.com");
+		assertThat(userCache.findById(id)).map(User::getEmail).contains("eve@example.com");
+		assertThat(userCache.findByEmail("eve@example.com")).isPresent();
+
+		jdbcTemplate.update("delete from users");
+
+		assertThat(userCache.findById(id)).isPresent();
+		assertThat(userCache.findByEmail("eve@example.com")).map(User::getId).contains(id);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", "user.by-id").tag("result", "hit").functionCounter().count())
+				.isPositive();
+	}
+
+	@Test
+	void remembersMissingEmailsUntilAUserIsCreated() {
+		assertThat(userCache.existsByEmail("fay@example.com")).isFalse();
+		insert("fay@example.com");
+		assertThat(userCache.existsByEmail("fay@example.com")).isFalse();
+
+		userCache.invalidateEmails(List.of("fay@example.com"));
+
+		assertThat(userCache.existsByEmail("fay@example.com")).isTrue();
+	}
+
+	@Test
+	void updateInvalidatesTheUserAndBothEmails() {
+		UUID id = insert("gus@example.com");
+		assertThat(userCache.findByEmail("gus@example.com")).isPresent();
+		assertThat(userCache.existsByEmail("gus@new.example.com")).isFalse();
+
+		userService.update(id.toString(), UserRequest.builder().email("gus@new.example.com").build());
+
+		assertThat(userCache.findById(id)).map(User::getEmail).contains("gus@new.example.com");
+		assertThat(userCache.existsByEmail("gus@example.com")).isFalse();
+		assertThat(userCache.existsByEmail("gus@new.example.com")).isTrue();
+	}
+
+	@Test
+	void emailLoadRacingAnUpdateDoesNotCacheTheOldUser() throws Exception {
+		UUID id = UuidV7.generate();
+		User before = User.builder().id(id).email("hal@example.com").firstName("Hal").build();
+		User after = User.builder().id(id).email("hal@example.com").firstName("Harold").build();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch committed = new CountDownLatch(1);
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findUserByEmail("hal@example.com")).thenAnswer(invocation -> {
+			loading.countDown();
+			committed.await(5, TimeUnit.SECONDS);
+			return Optional.of(before);
+		});
+		when(userRepository.findById(any())).thenReturn(Optional.of(after));
+		UserCache cache = new UserCache(userRepository, new UserCacheProperties(), new SimpleMeterRegistry());
+
+		CompletableFuture<Optional<User>> read = CompletableFuture.supplyAsync(() -> cache.findByEmail("hal@example.com"));
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		Thread writer = new Thread(() -> cache.invalidate(id, "hal@example.com"));
+		writer.start();
+		while (writer.isAlive() && writer.getState() == Thread.State.RUNNABLE) {
+			Thread.onSpinWait();
+		}
+		committed.countDown();
+		read.get(5, TimeUnit.SECONDS);
+		writer.join();
+
+		assertThat(cache.findById(id)).map(User::getFirstName).contains("Harold");
+		assertThat(cache.findByEmail("hal@example.com")).map(User::getFirstName).contains("Harold");
+	}
+
+	private UUID insert(String email) {
+		UUID id = UuidV7.generate();
+		jdbcTemplate.update("insert into users (id, email, username, status, role, created_at) values (?, ?, ?, 'ACTIVE', 'USER', current_timestamp)",
+				UuidV7.toBytes(id), email, email);
+		return id;
+	}
+
+}
@@ -0,0 +1,110 @@
+package org.urkejov.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.urkejov.tools.UuidV7;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "user.export.clear-interval=3")
+@ActiveProfiles("benchmark")
+class UserExportServiceTests {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+	@Autowired
+	private UserExportService userExportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from users");
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLine() throws Exception {
+		UUID id = insert("Ivy", "Stone", "ivy@example.com", null, CREATED_AT);
+
+		String export = export(UserExportService.Format.NDJSON);
+
+		assertThat(export).endsWith("}\n");
+		List<String> lines = export.lines().toList();
+		assertThat(lines).hasSize(1);
+		JsonNode user = objectMapper.readTree(lines.get(0));
+		assertThat(user.get("id").asText()).isEqualTo(id.toString());
+		assertThat(user.get("firstName").asText()).isEqualTo("Ivy");
+		assertThat(user.get("email").asText()).isEqualTo("ivy@example.com");
+		assertThat(user.get("userStatus").asText()).isEqualTo("ACTIVE");
+		assertThat(user.get("userRole").asText()).isEqualTo("USER");
+		assertThat(user.get("createdAt").asText()).isEqualTo("2024-03-01T12:00");
+		assertThat(user.get("notes").isNull()).isTrue();
+		assertThat(user.get("deletedAt").isNull()).isTrue();
+	}
+
+	@Test
+	void csvQuotesCommasQuotesAndLineBreaks() {
+		UUID id = insert("Jo, \"JJ\"", "Plain", "jo@example.com", "first line\nsecond line", CREATED_AT);
+
+		String export = export(UserExportService.Format.CSV);
+
+		assertThat(export).startsWith("id,firstName,lastName,username,email,phoneNumber,notes,firebaseUid,"
+				+ "userStatus,userRole,createdAt,updatedAt,deletedAt,lastLoginDate\n");
+		assertThat(export).contains(id + ",\"Jo, \"\"JJ\"\"\",Plain,jo@example.com,jo@example.com,,"
+				+ "\"first line\nsecond line\",,ACTIVE,USER,2024-03-01T12:00,,,\n");
+	}
+
+	@Test
+	void exportsEveryRowNewestFirstAcrossClearIntervals() throws Exception {
+		List<UUID> expected = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			expected.add(0, insert("User", String.valueOf(i), "user" + i + "@example.com", null, CREATED_AT.plusMinutes(i)));
+		}
+		// Same created_at as the newest row: the later (greater) id comes first.
+		UUID tiedFirst = insert("Tied", "A", "tied-a@example.com", null, CREATED_AT.plusMinutes(8));
+		UUID tiedSecond = insert("Tied", "B", "tied-b@example.com", null, CREATED_AT.plusMinutes(8));
+		expected.add(0, tiedFirst);
+		expected.add(0, tiedSecond);
+
+		List<UUID> exported = new ArrayList<>();
+		for (String line : export(UserExportService.Format.NDJSON).lines().toList()) {
+			exported.add(UUID.fromString(objectMapper.readTree(line).get("id").asText()));
+		}
+		long csvRows = export(UserExportService.Format.CSV).lines().count() - 1;
+
+		assertThat(exported).containsExactlyElementsOf(expected);
+		assertThat(csvRows).isEqualTo(11);
+	}
+
+	private String export(UserExportService.Format format) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		userExportService.export(outputStream, format);
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+
+	private UUID insert(String firstName, String lastName, String email, String notes, LocalDateTime createdAt) {
+		UUID id = UuidV7.generate();
+		jdbcTemplate.update("insert into users (id, first_name, last_name, username, email, notes, status, role, created_at) "
+						+ "values (?, ?, ?, ?, ?, ?, 'ACTIVE', 'USER', ?)",
+				UuidV7.toBytes(id), firstName, lastName, email, email, notes, createdAt);
+		return id;
+	}
+
+}
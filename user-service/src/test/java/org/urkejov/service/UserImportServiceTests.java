@@ -0,0 +1,132 @@
+package org.urkejov.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.urkejov.dto.request.UserImportRequest;
+import org.urkejov.dto.response.UserImportResponse;
+import org.urkejov.dto.response.UserImportResult;
+import org.urkejov.identity.IdentityUser;
+import org.urkejov.identity.InMemoryIdentityProvider;
+import org.urkejov.tools.UuidV7;
+import org.urkejov.tools.enums.UserRoleEnum;
+import org.urkejov.tools.enums.UserStatusEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "user.import.batch-size=2")
+@ActiveProfiles("benchmark")
+class UserImportServiceTests {
+
+	private static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode("secret");
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private InMemoryIdentityProvider identityProvider;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from users");
+	}
+
+	@Test
+	void reportsEveryRow() {
+		jdbcTemplate.update("insert into users (id, email, username, status, role) values (?, 'taken@example.com', 'taken', 'ACTIVE', 'USER')",
+				(Object) UuidV7.toBytes(UuidV7.generate()));
+		List<UserImportRequest> rows = new ArrayList<>();
+		rows.add(row("ann@example.com", UserRoleEnum.ADMIN));
+		rows.add(row("taken@example.com", UserRoleEnum.USER));
+		rows.add(row(null, UserRoleEnum.USER));
+		rows.add(row("ann@example.com", UserRoleEnum.USER));
+		UserImportRequest badHash = row("bob@example.com", UserRoleEnum.USER);
+		badHash.setPasswordHash("plain");
+		rows.add(badHash);
+		UserImportRequest withPassword = row("cid@example.com", UserRoleEnum.USER);
+		withPassword.setPasswordHash(null);
+		withPassword.setPassword("secret");
+		rows.add(withPassword);
+
+		UserImportResponse response = userImportService.importUsers(rows);
+
+		assertThat(response.getResults()).extracting(UserImportResult::getStatus).containsExactly(
+				UserImportResult.Status.CREATED,
+				UserImportResult.Status.ALREADY_EXISTS,
+				UserImportResult.Status.INVALID,
+				UserImportResult.Status.DUPLICATE,
+				UserImportResult.Status.INVALID,
+				UserImportResult.Status.CREATED);
+		assertThat(response.getRowsCreated()).isEqualTo(2);
+		assertThat(response.getRowsRejected()).isEqualTo(4);
+		assertThat(response.getBatches()).isEqualTo(3);
+
+		String annId = response.getResults().get(0).getUserId();
+		Map<String, Object> ann = jdbcTemplate.queryForMap("select * from users where id = ?", (Object) UuidV7.toBytes(UUID.fromString(annId)));
+		assertThat(ann.get("firebase_uid")).isEqualTo(annId);
+		assertThat(ann.get("role")).isEqualTo("ADMIN");
+		assertThat(identityProvider.getRoles(annId)).containsExactly("ADMIN", "USER");
+		assertThat(identityProvider.findByEmail("ann@example.com")).map(IdentityUser::passwordHash).contains(PASSWORD_HASH);
+		assertThat(identityProvider.findByEmail("cid@example.com").orElseThrow().passwordHash()).startsWith("$2a$");
+	}
+
+	@Test
+	void linksAccountsThatAlreadyExistAtTheProvider() {
+		identityProvider.createUsers(List.of(new IdentityUser("legacy-uid", "dan@example.com", "dan", false, PASSWORD_HASH, List.of())));
+
+		UserImportResponse response = userImportService.importUsers(List.of(row("dan@example.com", UserRoleEnum.USER)));
+
+		assertThat(response.getResults().get(0).getStatus()).isEqualTo(UserImportResult.Status.CREATED);
+		assertThat(jdbcTemplate.queryForObject("select firebase_uid from users where email = 'dan@example.com'", String.class))
+				.isEqualTo("legacy-uid");
+		assertThat(identityProvider.getRoles("legacy-uid")).containsExactly("USER");
+	}
+
+	@Test
+	void hashesEveryPlainPasswordForItsOwnRow() {
+		List<UserImportRequest> rows = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			UserImportRequest row = row("user" + i + "@example.com", UserRoleEnum.USER);
+			row.setPasswordHash(null);
+			row.setPassword("secret-" + i);
+			rows.add(row);
+		}
+
+		UserImportResponse response = userImportService.importUsers(rows);
+
+		assertThat(response.getRowsCreated()).isEqualTo(5);
+		for (int i = 0; i < 5; i++) {
+			String passwordHash = identityProvider.findByEmail("user" + i + "@example.com").orElseThrow().passwordHash();
+			assertThat(passwordEncoder.matches("secret-" + i, passwordHash)).isTrue();
+		}
+	}
+
+	private static UserImportRequest row(String email, UserRoleEnum role) {
+		UserImportRequest row = new UserImportRequest();
+		row.setFirstName("First");
+		row.setLastName("Last");
+		row.setUsername(email);
+		row.setEmail(email);
+		row.setStatus(UserStatusEnum.ACTIVE);
+		row.setRoles(List.of(role));
+		row.setPasswordHash(PASSWORD_HASH);
+		return row;
+	}
+
+}
@@ -0,0 +1,193 @@
+package org.urkejov.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.urkejov.entity.ProvisioningTask;
+import org.urkejov.identity.IdentityProviderException;
+import org.urkejov.identity.IdentityUser;
+import org.urkejov.identity.InMemoryIdentityProvider;
+import org.urkejov.repository.ProvisioningTaskRepository;
+import org.urkejov.tools.UuidV7;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// A database of its own, so the pollers of other cached test contexts do not claim these rows.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"spring.datasource.url=jdbc:h2:mem:user-provisioning-worker;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"user.provisioning.poll-interval-ms=3600000",
+		"user.provisioning.max-attempts=3",
+		"user.provisioning.initial-backoff=1s",
+		"user.provisioning.lease=5m"
+})
+@ActiveProfiles("benchmark")
+class UserProvisioningWorkerTests {
+
+	@Autowired
+	private UserProvisioningWorker userProvisioningWorker;
+
+	@Autowired
+	private ProvisioningTaskRepository provisioningTaskRepository;
+
+	@SpyBean
+	private InMemoryIdentityProvider identityProvider;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from user_provisioning_outbox");
+		jdbcTemplate.update("delete from users");
+	}
+
+	@Test
+	void provisionedRowStoresTheUidAndIsDeleted() {
+		UUID id = insertUser("ida@example.com");
+		enqueue(id, "ida@example.com", 0);
+
+		userProvisioningWorker.poll();
+
+		assertThat(firebaseUid(id)).isEqualTo(id.toString());
+		assertThat(provisioningTaskRepository.count()).isZero();
+		assertThat(identityProvider.findByEmail("ida@example.com")).isPresent();
+		assertThat(identityProvider.getRoles(id.toString())).containsExactly("USER");
+	}
+
+	@Test
+	void failedRowIsRetriedWithGrowingDelay() {
+		doThrow(new IdentityProviderException("unavailable", null)).when(identityProvider).createUsers(anyList());
+		UUID id = insertUser("jon@example.com");
+		long taskId = enqueue(id, "jon@example.com", 0);
+
+		Duration firstDelay = pollAndMeasureDelay(taskId);
+		makeDue(taskId);
+		Duration secondDelay = pollAndMeasureDelay(taskId);
+
+		ProvisioningTask task = provisioningTaskRepository.findById(taskId).orElseThrow();
+		assertThat(task.getAttempts()).isEqualTo(2);
+		assertThat(task.getLastError()).isEqualTo("unavailable");
+		assertThat(firstDelay).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(2));
+		assertThat(secondDelay).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(3));
+		assertThat(firebaseUid(id)).isNull();
+	}
+
+	@Test
+	void rowIsParkedAfterMaxAttempts() {
+		doThrow(new IdentityProviderException("unavailable", null)).when(identityProvider).createUsers(anyList());
+		UUID id = insertUser("kim@example.com");
+		long taskId = enqueue(id, "kim@example.com", 2);
+
+		userProvisioningWorker.poll();
+		userProvisioningWorker.poll();
+
+		ProvisioningTask task = provisioningTaskRepository.findById(taskId).orElseThrow();
+		assertThat(task.getAttempts()).isEqualTo(3);
+		assertThat(task.getAvailableAt()).isNull();
+		assertThat(task.getLastError()).isEqualTo("unavailable");
+	}
+
+	@Test
+	void existingAccountOnlyGetsItsRoles() {
+		identityProvider.createUsers(List.of(new IdentityUser("legacy-uid", "lea@example.com", "lea", false, "hash", List.of())));
+		clearInvocations(identityProvider);
+		UUID id = insertUser("lea@example.com");
+		enqueue(id, "lea@example.com", 0);
+
+		userProvisioningWorker.poll();
+
+		verify(identityProvider, never()).createUsers(anyList());
+		verify(identityProvider).setRoles(eq("legacy-uid"), any());
+		assertThat(identityProvider.getRoles("legacy-uid")).containsExactly("USER");
+		assertThat(firebaseUid(id)).isEqualTo("legacy-uid");
+		assertThat(provisioningTaskRepository.count()).isZero();
+	}
+
+	@Test
+	void rowOfAStuckWorkerIsClaimedAgainOnceItsLeaseRunsOut() throws Exception {
+		CountDownLatch stuck = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		doAnswer(invocation -> {
+			if (calls.incrementAndGet() == 1) {
+				stuck.countDown();
+				release.await(10, TimeUnit.SECONDS);
+			}
+			return invocation.callRealMethod();
+		}).when(identityProvider).createUsers(anyList());
+		UUID id = insertUser("max@example.com");
+		long taskId = enqueue(id, "max@example.com", 0);
+
+		CompletableFuture<Void> firstPoll = CompletableFuture.runAsync(userProvisioningWorker::poll);
+		assertThat(stuck.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(provisioningTaskRepository.findById(taskId).orElseThrow().getAvailableAt())
+				.isAfter(LocalDateTime.now().plusMinutes(4));
+		userProvisioningWorker.poll();
+		assertThat(calls.get()).isEqualTo(1);
+
+		makeDue(taskId);
+		userProvisioningWorker.poll();
+		release.countDown();
+		firstPoll.get(10, TimeUnit.SECONDS);
+
+		assertThat(firebaseUid(id)).isEqualTo(id.toString());
+		assertThat(provisioningTaskRepository.count()).isZero();
+	}
+
+	private Duration pollAndMeasureDelay(long taskId) {
+		LocalDateTime before = LocalDateTime.now();
+		userProvisioningWorker.poll();
+		return Duration.between(before, provisioningTaskRepository.findById(taskId).orElseThrow().getAvailableAt());
+	}
+
+	private void makeDue(long taskId) {
+		jdbcTemplate.update("update user_provisioning_outbox set available_at = ? where id = ?",
+				LocalDateTime.now().minusSeconds(1), taskId);
+	}
+
+	private long enqueue(UUID userId, String email, int attempts) {
+		return provisioningTaskRepository.save(ProvisioningTask.builder()
+				.userId(userId.toString())
+				.email(email)
+				.displayName(email)
+				.passwordHash("hash")
+				.roles("USER")
+				.attempts(attempts)
+				.availableAt(LocalDateTime.now().minusSeconds(1))
+				.createdAt(LocalDateTime.now())
+				.build()).getId();
+	}
+
+	private UUID insertUser(String email) {
+		UUID id = UuidV7.generate();
+		jdbcTemplate.update("insert into users (id, email, username, status, role, created_at) values (?, ?, ?, 'ACTIVE', 'USER', current_timestamp)",
+				UuidV7.toBytes(id), email, email);
+		return id;
+	}
+
+	private String firebaseUid(UUID id) {
+		return jdbcTemplate.queryForObject("select firebase_uid from users where id = ?", String.class, (Object) UuidV7.toBytes(id));
+	}
+
+}